@@ -4,6 +4,7 @@
 
 package com.example.john.sudokusolver
 
+import android.arch.lifecycle.Observer
 import android.arch.lifecycle.ViewModelProviders
 import android.content.res.ColorStateList
 import android.support.v7.app.AppCompatActivity
@@ -57,23 +58,45 @@ class MainActivity : AppCompatActivity() {
                 else -> {
                     mPuzzleViewCallback?.capturePuzzleFromView()?.let { mPuzzleModel.visiblePuzzle = it }
 
-                    // Access the solving Logic. It is quick, so work loads on background threads are not used here
-                    val success = mPuzzleModel.solveCurrentPuzzle()
-
-                    Toast.makeText(this, if (success) R.string.solveSuccess else R.string.solveFail,
-                            Toast.LENGTH_SHORT).show()
-
-                    mPuzzleViewCallback?.refreshPuzzleView()
+                    // A hard puzzle may take a while, so it is solved on a background thread. The
+                    // solution comes back through solveResult
+                    mPuzzleModel.solveCurrentPuzzle()
                 }
             }
         }
 
+        mPuzzleModel.solveResult.observe(this, Observer { result ->
+            result ?: return@Observer
+            mPuzzleViewCallback?.refreshPuzzleView()
+
+            // Once, and not again after a rotation
+            if (!result.isReported) {
+                result.isReported = true
+                Toast.makeText(this, if (result.solution.isSolved) R.string.solveSuccess else R.string.solveFail,
+                        Toast.LENGTH_SHORT).show()
+            }
+        })
+
         buttonState = savedInstanceState?.getInt("buttonState") ?: STATE_SOLVER
+
+        // The puzzles are packed at 4 bits per cell, should the process have been killed. A
+        // retained ViewModel, as after a rotation, already holds them, and may be solving them
+        if (mPuzzleModel.isFresh) {
+            mPuzzleModel.isFresh = false
+            savedInstanceState?.getByteArray("currentPuzzle")?.let {
+                mPuzzleModel.currentPuzzle = PuzzleCodec.decodeGivens(it)
+            }
+            savedInstanceState?.getByteArray("visiblePuzzle")?.let {
+                mPuzzleModel.visiblePuzzle = PuzzleCodec.decodeGivens(it)
+            }
+        }
     }
 
     override fun onSaveInstanceState(outState: Bundle?) {
         super.onSaveInstanceState(outState)
         outState?.putInt("buttonState", buttonState)
+        outState?.putByteArray("currentPuzzle", PuzzleCodec.encodeGivens(mPuzzleModel.currentPuzzle))
+        outState?.putByteArray("visiblePuzzle", PuzzleCodec.encodeGivens(mPuzzleModel.visiblePuzzle))
     }
 
     override fun onCreateOptionsMenu(menu: Menu?): Boolean {
@@ -29,6 +29,13 @@ public class SudokuPuzzleRepository {
         return new int[SudokuPuzzleSolver.MAX_LENGTH][SudokuPuzzleSolver.MAX_LENGTH];
     }
 
+    /**
+     * The bounds of the solution cache
+     */
+    private static final int CACHE_ENTRIES = 1024;
+    private static final long CACHE_BYTES = 256 * 1024;
+
+    private final CachingSudokuSolver solver;
     private int[][] currentPuzzle;
     /**
      * The puzzle that will appear in the view;
@@ -36,10 +43,22 @@ public class SudokuPuzzleRepository {
     private int[][] visiblePuzzle;
     private SudokuPuzzleSolution sudokuPuzzleSolution;
 
-    public SudokuPuzzleRepository() {
+    /**
+     * @param engine Solves the puzzles not found in the solution cache
+     */
+    public SudokuPuzzleRepository(SudokuSolverEngine engine) {
+        solver = new CachingSudokuSolver(engine, new SolutionCache(CACHE_ENTRIES, CACHE_BYTES));
         setCurrentPuzzle(DEFAULT_PUZZLE);
     }
 
+    /**
+     * Solves puzzle, unless a relabeling, rotation or permutation of it was solved before, in
+     * which case its solution is mapped to puzzle
+     */
+    public SudokuPuzzleSolution solve(int[][] puzzle) {
+        return solver.solve(puzzle);
+    }
+
     /**
      *
      * @return The current Puzzle
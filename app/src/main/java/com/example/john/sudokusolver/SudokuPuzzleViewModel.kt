@@ -4,42 +4,128 @@
 
 package com.example.john.sudokusolver
 
+import android.arch.lifecycle.LiveData
+import android.arch.lifecycle.MutableLiveData
 import android.arch.lifecycle.ViewModel
+import android.os.Handler
+import android.os.Looper
+import android.util.Log
+import com.example.john.sudokusolver.SudokuPuzzleSolver.SudokuPuzzleSolution
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
 
 class SudokuPuzzleViewModel: ViewModel() {
-    private val sudokuPuzzleSolver: SudokuPuzzleSolver = SudokuPuzzleSolver()
-    private val sudokuPuzzleRepository: SudokuPuzzleRepository = SudokuPuzzleRepository()
 
-    // Wrapping the repository properties
+    /**
+     * A solution, to be reported once. LiveData delivers it again to each new observer, as after
+     * a rotation
+     */
+    class SolveResult(val solution: SudokuPuzzleSolution) {
+        var isReported = false
+    }
+
+    private val sudokuPuzzleSolver: SudokuPuzzleSolver = SudokuPuzzleSolver().apply {
+        setLogger(SolverLogger { tag, message -> Log.e(tag, message) })
+        // Cancelling the task interrupts the solve, which then stops at its next unit or branch
+        setDefaultBudget(SolveBudget.UNLIMITED.stoppingOnInterrupt())
+    }
+    private val sudokuPuzzleRepository: SudokuPuzzleRepository = SudokuPuzzleRepository(sudokuPuzzleSolver)
+
+    /**
+     * Solves a puzzle at a time, off the main thread. The solver, and the solution cache of the
+     * repository, are only used on its thread
+     */
+    private val solveExecutor: ExecutorService = Executors.newSingleThreadExecutor()
+    private val mainHandler = Handler(Looper.getMainLooper())
+    private var solveTask: Future<*>? = null
+    /**
+     * Counts the solves started and cancelled. Only the latest solve publishes its solution
+     */
+    private var solveGeneration = 0
+    private val mutableSolveResult = MutableLiveData<SolveResult>()
+
+    /**
+     * The solution of the last solve, on the main thread
+     * @see solveCurrentPuzzle
+     */
+    val solveResult: LiveData<SolveResult> = mutableSolveResult
+
+    /**
+     * True until an activity takes this ViewModel. Only a fresh ViewModel, as after the process
+     * was killed, is restored from the saved instance state
+     */
+    var isFresh = true
+
+    // Wrapping the repository properties. A change to a puzzle cancels the solve in flight
 
     var visiblePuzzle: Array<IntArray>
         get() = sudokuPuzzleRepository.visiblePuzzle
-        set(value) { sudokuPuzzleRepository.visiblePuzzle = value}
+        set(value) {
+            if (!(value contentDeepEquals sudokuPuzzleRepository.visiblePuzzle)) {
+                cancelSolve()
+            }
+            sudokuPuzzleRepository.visiblePuzzle = value
+        }
 
     var currentPuzzle: Array<IntArray>
         get() = sudokuPuzzleRepository.currentPuzzle
-        set(value) { sudokuPuzzleRepository.currentPuzzle = value}
+        set(value) {
+            if (!(value contentDeepEquals sudokuPuzzleRepository.currentPuzzle)) {
+                cancelSolve()
+            }
+            sudokuPuzzleRepository.currentPuzzle = value
+        }
 
     /**
-     * @return true iff the puzzle was completely solved
+     * Solves the visible puzzle on a background thread, cancelling a solve still in flight. On
+     * the main thread, the solution then replaces the visible puzzle and is published to
+     * [solveResult]; unless the puzzle was changed in the meantime
      */
-    fun solveCurrentPuzzle(): Boolean {
-        sudokuPuzzleRepository.sudokuPuzzleSolution =
-                sudokuPuzzleSolver.solve(sudokuPuzzleRepository.visiblePuzzle)
+    fun solveCurrentPuzzle() {
+        cancelSolve()
+        val generation = solveGeneration
+        val puzzle = Array(SudokuPuzzleSolver.MAX_LENGTH, { sudokuPuzzleRepository.visiblePuzzle[it].copyOf() })
+
+        solveTask = solveExecutor.submit {
+            val solution = sudokuPuzzleRepository.solve(puzzle)
 
-        // When when is finished being solved...
-        // Update the repository
-        sudokuPuzzleRepository.visiblePuzzle =
-                sudokuPuzzleRepository.sudokuPuzzleSolution.partialSolutionSolvedDigits
+            mainHandler.post {
+                if (generation == solveGeneration) {
+                    solveTask = null
 
-        return sudokuPuzzleRepository.sudokuPuzzleSolution.isSolved
+                    // Update the repository
+                    sudokuPuzzleRepository.sudokuPuzzleSolution = solution
+                    sudokuPuzzleRepository.visiblePuzzle = solution.partialSolutionSolvedDigits
+                    mutableSolveResult.value = SolveResult(solution)
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels the solve in flight, if any. A solve not yet started is dropped from the queue; one
+     * already running is interrupted, and stops at the next unit of its deductions or branch of
+     * its search. Its partial solution is not published, nor cached
+     */
+    fun cancelSolve() {
+        solveGeneration++
+        solveTask?.cancel(true)
+        solveTask = null
     }
 
     /**
      * @param puzzle The puzzle that is set to both visible and current puzzle, via copy
      */
     fun setNewPuzzle(puzzle: Array<IntArray>) {
+        cancelSolve()
         sudokuPuzzleRepository.currentPuzzle = puzzle
         sudokuPuzzleRepository.visiblePuzzle = puzzle
     }
-}
\ No newline at end of file
+
+    override fun onCleared() {
+        super.onCleared()
+        cancelSolve()
+        solveExecutor.shutdownNow()
+    }
+}
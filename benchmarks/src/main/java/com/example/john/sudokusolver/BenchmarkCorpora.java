@@ -0,0 +1,111 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+
+/**
+ * <p>The puzzles of the benchmarks, grouped by difficulty. Each is 81 characters, row by row,
+ * with '0' or '.' for an empty cell</p>
+ */
+final class BenchmarkCorpora {
+
+    static final String EASY = "easy";
+    static final String HARD = "hard";
+    static final String SEVENTEEN_CLUE = "17-clue";
+    static final String INCONSISTENT = "inconsistent";
+    static final String EMPTY = "empty";
+
+    /**
+     * Solved by the initial deductions and a few partition searches
+     */
+    private static final String[] EASY_PUZZLES = {
+            "000034000402000310000100500800600030200010009030007002003006000074000608000890000",
+            "070050000051609200406207001087000100300804002004000590100705809008302470000040010",
+            "902000008000085009400200000050006300010030020006400090000002003500810000600000702",
+            "003020600900305001001806400008102900700000008006708200002609500800203009005010300",
+            "200080300060070084030500209000105408000000000402706000301007040720040060004010003",
+            "000000907000420180000705026100904000050000040000507009920108000034059000507000000",
+            "030050040008010500460000012070502080000603000040109030250000098001020600080060020",
+    };
+
+    /**
+     * From published lists of the hardest puzzles. The first stalls the deductions, and needs
+     * the completion search
+     */
+    private static final String[] HARD_PUZZLES = {
+            "800000000003600000070090200050007000000045700000100030001000068008500010090000400",
+            "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......",
+            "52...6.........7.13...........4..8..6......5...........418.........3..2...87.....",
+            "6.....8.3.4.7.................5.4.7.3..2.....1.6.......2.....5.....8.6......1....",
+    };
+
+    /**
+     * Puzzles of 17 givens, the fewest of any puzzle with a unique solution
+     */
+    private static final String[] SEVENTEEN_CLUE_PUZZLES = {
+            "000000010400000000020000000000050407008000300001090000300400200050100000000806000",
+            "000000012000035000000600070700000300000400800100000000000120000080000040050000600",
+            "000000012003600000000007000410020000000500300700000600280000040000300500000000000",
+            "000000012008030000000000040120500000000004700060000000507000300000620000000100000",
+            "000000000000003085001020000000507000004000100090000000500000073002010000000040009",
+    };
+
+    /**
+     * Without a solution: a digit repeated in a unit, and givens of an easy puzzle with one more
+     * digit that breaks no unit, but the solution
+     */
+    private static final String[] INCONSISTENT_PUZZLES = {
+            "550000000000000000000000000000000000000000000000000000000000000000000000000000000",
+            "112000000000000000000000000000000000000000000000000000000000000000000000000000000",
+            "100034000402000310000100500800600030200010009030007002003006000074000608000890000",
+            "503020600900305001001806400008102900700000008006708200002609500800203009005010300",
+    };
+
+    private static final String[] EMPTY_PUZZLES = {
+            "000000000000000000000000000000000000000000000000000000000000000000000000000000000",
+    };
+
+    private BenchmarkCorpora() {
+    }
+
+    /**
+     * @param name One of the names of the corpora; eg. {@link #HARD}
+     * @return The puzzles of the corpus, each indexed by cell
+     */
+    static int[][] get(String name) {
+        String[] lines;
+
+        switch (name) {
+            case EASY:
+                lines = EASY_PUZZLES;
+                break;
+            case HARD:
+                lines = HARD_PUZZLES;
+                break;
+            case SEVENTEEN_CLUE:
+                lines = SEVENTEEN_CLUE_PUZZLES;
+                break;
+            case INCONSISTENT:
+                lines = INCONSISTENT_PUZZLES;
+                break;
+            case EMPTY:
+                lines = EMPTY_PUZZLES;
+                break;
+            default:
+                throw new IllegalArgumentException("No corpus " + name);
+        }
+
+        int[][] puzzles = new int[lines.length][CELL_COUNT];
+
+        for (int p = 0; p < lines.length; p++) {
+            for (int cell = 0; cell < CELL_COUNT; cell++) {
+                char c = lines[p].charAt(cell);
+                puzzles[p][cell] = c == '.' ? 0 : c - '0';
+            }
+        }
+        return puzzles;
+    }
+}
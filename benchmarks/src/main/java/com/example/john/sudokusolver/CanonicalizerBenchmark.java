@@ -0,0 +1,77 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks {@link SudokuCanonicalizer} over each corpus of {@link BenchmarkCorpora}, as
+ * when deduplicating puzzles. Each operation is one puzzle; the puzzles of the corpus are taken
+ * in turn</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CanonicalizerBenchmark {
+
+    @Param({BenchmarkCorpora.EASY, BenchmarkCorpora.HARD, BenchmarkCorpora.SEVENTEEN_CLUE,
+            BenchmarkCorpora.INCONSISTENT, BenchmarkCorpora.EMPTY})
+    public String corpus;
+
+    private final SudokuCanonicalizer mCanonicalizer = new SudokuCanonicalizer();
+    private final SudokuCanonicalizer.CanonicalForm mForm = new SudokuCanonicalizer.CanonicalForm();
+    private final ByteBuffer mKey = ByteBuffer.allocate(PuzzleCodec.GIVENS_BYTES);
+    private int[][] mPuzzles;
+    private ByteBuffer mPacked;
+    private int mNext;
+
+    @Setup
+    public void setUp() {
+        mPuzzles = BenchmarkCorpora.get(corpus);
+        mPacked = ByteBuffer.allocate(mPuzzles.length * PuzzleCodec.GIVENS_BYTES);
+
+        for (int[] puzzle : mPuzzles) {
+            PuzzleCodec.encodeGivens(puzzle, mPacked);
+        }
+    }
+
+    @Benchmark
+    public boolean canonicalize() {
+        int[] puzzle = mPuzzles[mNext];
+        mNext = (mNext + 1) % mPuzzles.length;
+        return mCanonicalizer.canonicalize(puzzle, mForm);
+    }
+
+    /**
+     * From a packed puzzle to its packed key, as a deduplication pass over a packed corpus
+     */
+    @Benchmark
+    public ByteBuffer canonicalizePacked() {
+        mPacked.position(mNext * PuzzleCodec.GIVENS_BYTES);
+        mNext = (mNext + 1) % mPuzzles.length;
+        mKey.clear();
+
+        if (mCanonicalizer.canonicalize(mPacked, mForm)) {
+            mForm.encode(mKey);
+        }
+        return mKey;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks a single search of shrinkPartitions on its own: the search for a self-contained
+ * subset of the first partition of more than one cell, after the initial deductions</p>
+ * <p>The search leaves the puzzle as it is, so each puzzle of the corpus is loaded into a solver
+ * once, and searched again and again</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionSearchBenchmark {
+
+    @Param({BenchmarkCorpora.EASY, BenchmarkCorpora.HARD, BenchmarkCorpora.SEVENTEEN_CLUE,
+            BenchmarkCorpora.INCONSISTENT, BenchmarkCorpora.EMPTY})
+    public String corpus;
+
+    private SudokuPuzzleSolver[] mSolvers;
+    private int mNext;
+
+    @Setup
+    public void setUp() {
+        List<SudokuPuzzleSolver> solvers = new ArrayList<>();
+
+        for (int[] puzzle : BenchmarkCorpora.get(corpus)) {
+            SudokuPuzzleSolver solver = new SudokuPuzzleSolver();
+            solver.initializePuzzle(puzzle);
+            solver.makeInitialDeductions();
+
+            if (solver.loadFirstPartitionSearch()) {
+                solvers.add(solver);
+            }
+        }
+
+        if (solvers.isEmpty()) {
+            throw new IllegalStateException("No partition to search in corpus " + corpus);
+        }
+        mSolvers = solvers.toArray(new SudokuPuzzleSolver[solvers.size()]);
+    }
+
+    @Benchmark
+    public boolean search() {
+        SudokuPuzzleSolver solver = mSolvers[mNext];
+        mNext = (mNext + 1) % mSolvers.length;
+        return solver.searchLoadedPartition();
+    }
+}
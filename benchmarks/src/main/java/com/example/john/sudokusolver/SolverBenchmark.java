@@ -0,0 +1,87 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+
+/**
+ * <p>Benchmarks the solver, and each phase of it, over each corpus of {@link BenchmarkCorpora}.
+ * Each operation is one puzzle; the puzzles of the corpus are taken in turn</p>
+ * <p>A phase cannot run without the phases before it, so each phase benchmark includes them:
+ * the cost of a phase is the difference from the benchmark before it</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({BenchmarkCorpora.EASY, BenchmarkCorpora.HARD, BenchmarkCorpora.SEVENTEEN_CLUE,
+            BenchmarkCorpora.INCONSISTENT, BenchmarkCorpora.EMPTY})
+    public String corpus;
+
+    private final SudokuPuzzleSolver mSolver = new SudokuPuzzleSolver();
+    private final int[] mPartialSolution = new int[CELL_COUNT];
+    private int[][] mPuzzles;
+    private int mNext;
+
+    @Setup
+    public void setUp() {
+        mPuzzles = BenchmarkCorpora.get(corpus);
+        mSolver.setGuaranteedCompletion(true);
+        mSolver.setLogger(SolverLogger.NONE);
+    }
+
+    private int[] nextPuzzle() {
+        int[] puzzle = mPuzzles[mNext];
+        mNext = (mNext + 1) % mPuzzles.length;
+        return puzzle;
+    }
+
+    /**
+     * The whole solve, with the completion search, as {@link SudokuFileSolver} runs it
+     */
+    @Benchmark
+    public int solve() {
+        return mSolver.solve(nextPuzzle(), mPartialSolution);
+    }
+
+    /**
+     * Resets the solver to the puzzle, and seeds the partition index
+     */
+    @Benchmark
+    public void initializePuzzle() {
+        mSolver.initializePuzzle(nextPuzzle());
+    }
+
+    @Benchmark
+    public void makeInitialDeductions() {
+        mSolver.initializePuzzle(nextPuzzle());
+        mSolver.makeInitialDeductions();
+    }
+
+    @Benchmark
+    public void makeGeneralDeductions() throws Exception {
+        mSolver.initializePuzzle(nextPuzzle());
+        mSolver.makeInitialDeductions();
+        mSolver.makeGeneralDeductions();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import com.example.john.sudokusolver.SudokuCanonicalizer.CanonicalForm;
+import com.example.john.sudokusolver.SudokuPuzzleSolver.SudokuPuzzleSolution;
+
+import java.nio.ByteBuffer;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.MAX_LENGTH;
+
+/**
+ * <p>Solves with an engine, through a {@link SolutionCache} keyed by the canonical form of the
+ * puzzle, so that a puzzle transformed from one solved before is not solved again</p>
+ * <p>A solution is cached in canonical form, and mapped back through the transformation of the
+ * puzzle at hand. A puzzle with several solutions may so be given another of them than the
+ * engine would give. Neither the stats nor the difficulty rating are cached: the rating depends
+ * on the order of the cells and digits, so it differs between transformations of a puzzle. A
+ * solution from the cache has neither</p>
+ * <p>Not thread safe, as it keeps one {@link SudokuCanonicalizer}; but a cache may be shared by
+ * the instances of several threads, if their engines solve alike</p>
+ */
+public class CachingSudokuSolver implements SudokuSolverEngine {
+
+    private static final int FLAG_SOLVED = 1;
+    private static final int FLAG_REQUIRED_SEARCH = 1 << 1;
+
+    private final SudokuSolverEngine mEngine;
+    private final SolutionCache mCache;
+    private final SudokuCanonicalizer mCanonicalizer = new SudokuCanonicalizer();
+    private final CanonicalForm mForm = new CanonicalForm();
+    private final int[] mPuzzle = new int[CELL_COUNT];
+    private final int[] mPartialSolution = new int[CELL_COUNT];
+    private final int[] mCanonicalSolution = new int[CELL_COUNT];
+
+    public CachingSudokuSolver(SudokuSolverEngine engine, SolutionCache cache) {
+        mEngine = engine;
+        mCache = cache;
+    }
+
+    public SolutionCache getCache() {
+        return mCache;
+    }
+
+    /**
+     * @return The cached solution, mapped to puzzle; or else the engine's solution. A puzzle
+     * with a digit twice in a row or a column has no canonical form, and goes to the engine
+     * uncached
+     */
+    @Override
+    public SudokuPuzzleSolution solve(int[][] puzzle) {
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            System.arraycopy(puzzle[i], 0, mPuzzle, i * MAX_LENGTH, MAX_LENGTH);
+        }
+
+        if (!mCanonicalizer.canonicalize(mPuzzle, mForm)) {
+            return mEngine.solve(puzzle);
+        }
+        byte[] key = new byte[PuzzleCodec.GIVENS_BYTES];
+        mForm.encode(ByteBuffer.wrap(key));
+        byte[] value = mCache.get(key);
+
+        if (value != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(value);
+            int flags = buffer.get();
+            PuzzleCodec.decodeCandidates(buffer, mCanonicalSolution);
+
+            int[] partialSolution = new int[CELL_COUNT];
+            mForm.toSource(mCanonicalSolution, partialSolution);
+            return new SudokuPuzzleSolution((flags & FLAG_SOLVED) != 0,
+                    (flags & FLAG_REQUIRED_SEARCH) != 0, partialSolution);
+        }
+
+        SudokuPuzzleSolution solution = mEngine.solve(puzzle);
+
+        if (solution.budgetExceeded) {
+            return solution; // Cut short, so not the solution of the puzzle
+        }
+        solution.copyCandidates(mPartialSolution);
+        mForm.toCanonical(mPartialSolution, mCanonicalSolution);
+
+        value = new byte[1 + PuzzleCodec.CANDIDATES_BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        buffer.put((byte) ((solution.isSolved ? FLAG_SOLVED : 0)
+                | (solution.requiredSearch ? FLAG_REQUIRED_SEARCH : 0)));
+        PuzzleCodec.encodeCandidates(mCanonicalSolution, buffer);
+        mCache.put(key, value);
+        return solution;
+    }
+}
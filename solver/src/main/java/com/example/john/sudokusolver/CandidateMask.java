@@ -0,0 +1,59 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+/**
+ * <p>Integer operations on candidate masks; ie. the value of a cell, in which bit (digit - 1)
+ * is set iff digit is a possible digit of the cell</p>
+ * <p>Built on the bit intrinsics of {@link Integer}, so no floating point is involved</p>
+ */
+public final class CandidateMask {
+
+    private CandidateMask() {
+    }
+
+    /**
+     * @param digit 1-9, or 0 for no digit
+     * @return The mask with only digit set; 0 for digit 0
+     */
+    public static int of(int digit) {
+        return digit == 0 ? 0 : 1 << (digit - 1);
+    }
+
+    /**
+     * @return The number of possible digits in mask
+     */
+    public static int size(int mask) {
+        return Integer.bitCount(mask);
+    }
+
+    /**
+     * @return true iff mask has exactly 1 digit
+     */
+    public static boolean isCertain(int mask) {
+        return mask != 0 && (mask & (mask - 1)) == 0;
+    }
+
+    /**
+     * @return 0 if mask does not have exactly 1 digit; otherwise the digit
+     */
+    public static int certainDigit(int mask) {
+        return isCertain(mask) ? Integer.numberOfTrailingZeros(mask) + 1 : 0;
+    }
+
+    /**
+     * @return The smallest digit in mask, or 0 if mask is empty
+     */
+    public static int lowestDigit(int mask) {
+        return mask == 0 ? 0 : Integer.numberOfTrailingZeros(mask) + 1;
+    }
+
+    /**
+     * @return true iff digit is a possible digit of mask
+     */
+    public static boolean contains(int mask, int digit) {
+        return (mask & of(digit)) != 0;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import com.example.john.sudokusolver.SudokuPuzzleSolver.SudokuPuzzleSolution;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.ALL_DIGITS;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.MAX_LENGTH;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.VALUE;
+
+/**
+ * <p>Solves Sudoku puzzles as an exact cover problem, using Knuth's Algorithm X on Dancing
+ * Links</p>
+ * <p>Each of the 729 choices of a digit for a cell is a row, covering 4 of the 324 constraints:
+ * the cell has a digit, and the digit appears in the cell's row, column and 3x3 grid. The links
+ * are held in primitive arrays, allocated once and restored after every solve, so that an
+ * instance can be reused across puzzles</p>
+ */
+public class DancingLinksSolver implements SudokuSolverEngine {
+
+    private static final int CONSTRAINT_COUNT = 4 * CELL_COUNT;
+    private static final int CHOICE_COUNT = CELL_COUNT * MAX_LENGTH;
+    private static final int ROOT = 0;
+    /**
+     * Nodes [1, CONSTRAINT_COUNT] are the column headers; the nodes of the choices follow
+     */
+    private static final int FIRST_CHOICE_NODE = CONSTRAINT_COUNT + 1;
+    private static final int NODE_COUNT = FIRST_CHOICE_NODE + 4 * CHOICE_COUNT;
+
+    private final int[] mLeft = new int[NODE_COUNT];
+    private final int[] mRight = new int[NODE_COUNT];
+    private final int[] mUp = new int[NODE_COUNT];
+    private final int[] mDown = new int[NODE_COUNT];
+    /**
+     * The column header of each node
+     */
+    private final int[] mColumn = new int[NODE_COUNT];
+    /**
+     * The number of nodes of each column, indexed by column header
+     */
+    private final int[] mSize = new int[CONSTRAINT_COUNT + 1];
+    private final boolean[] mCovered = new boolean[CONSTRAINT_COUNT + 1];
+    /**
+     * The first node of each choice in the order they were made; the original digits come first
+     */
+    private final int[] mSelections = new int[CELL_COUNT];
+    private int mSelectionCount;
+    private boolean mBranched;
+
+    public DancingLinksSolver() {
+        for (int column = ROOT; column <= CONSTRAINT_COUNT; column++) {
+            mLeft[column] = column == ROOT ? CONSTRAINT_COUNT : column - 1;
+            mRight[column] = column == CONSTRAINT_COUNT ? ROOT : column + 1;
+            mUp[column] = mDown[column] = mColumn[column] = column;
+        }
+
+        for (int choice = 0, node = FIRST_CHOICE_NODE; choice < CHOICE_COUNT; choice++) {
+            int cell = choice / MAX_LENGTH;
+            int digit = choice % MAX_LENGTH;
+            int row = cell / MAX_LENGTH;
+            int column = cell % MAX_LENGTH;
+            int grid = 3 * (row / 3) + column / 3;
+
+            int first = node;
+            node = appendNode(node, first, 1 + cell);
+            node = appendNode(node, first, 1 + CELL_COUNT + row * MAX_LENGTH + digit);
+            node = appendNode(node, first, 1 + 2 * CELL_COUNT + column * MAX_LENGTH + digit);
+            node = appendNode(node, first, 1 + 3 * CELL_COUNT + grid * MAX_LENGTH + digit);
+        }
+    }
+
+    /**
+     * Links node to the bottom of its column and to the end of the choice that starts at first
+     * @return the next free node
+     */
+    private int appendNode(int node, int first, int column) {
+        mColumn[node] = column;
+        mUp[node] = mUp[column];
+        mDown[node] = column;
+        mDown[mUp[column]] = node;
+        mUp[column] = node;
+        mSize[column]++;
+
+        mLeft[node] = node == first ? node : node - 1;
+        mRight[node] = first;
+        mRight[mLeft[node]] = node;
+        mLeft[first] = node;
+        return node + 1;
+    }
+
+    /**
+     * @see SudokuSolverEngine#solve(int[][])
+     * @return The solution; {@link SudokuPuzzleSolution#requiredSearch} is true iff some
+     * constraint had more than one choice left when it was selected
+     */
+    @Override
+    public SudokuPuzzleSolution solve(int[][] puzzle) {
+        mSelectionCount = 0;
+        mBranched = false;
+
+        boolean isConsistent = true;
+
+        for (int i = 0; i < MAX_LENGTH && isConsistent; i++) {
+            for (int j = 0; j < MAX_LENGTH && isConsistent; j++) {
+                if (puzzle[i][j] != 0) {
+                    isConsistent = selectOriginalDigit(i * MAX_LENGTH + j, puzzle[i][j]);
+                }
+            }
+        }
+        int originalCount = mSelectionCount;
+        boolean isSolved = isConsistent && search();
+
+        int[] partialSolution = new int[CELL_COUNT];
+
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            partialSolution[cell] = ALL_DIGITS;
+        }
+
+        for (int k = isSolved ? mSelectionCount : originalCount, choice; --k >= 0; ) {
+            choice = (mSelections[k] - FIRST_CHOICE_NODE) / 4;
+            partialSolution[choice / MAX_LENGTH] = VALUE[choice % MAX_LENGTH + 1];
+        }
+
+        // Restore the links for the next puzzle
+        while (originalCount > 0) {
+            unselect(mSelections[--originalCount]);
+        }
+        return new SudokuPuzzleSolution(isSolved, mBranched, partialSolution);
+    }
+
+    /**
+     * @return false iff the digit conflicts with an original digit already selected
+     */
+    private boolean selectOriginalDigit(int cell, int digit) {
+        int first = FIRST_CHOICE_NODE + 4 * (cell * MAX_LENGTH + digit - 1);
+
+        for (int k = 0; k < 4; k++) {
+            if (mCovered[mColumn[first + k]]) {
+                return false;
+            }
+        }
+        select(first);
+        mSelections[mSelectionCount++] = first;
+        return true;
+    }
+
+    /**
+     * <p>Algorithm X, choosing the column with the fewest nodes</p>
+     * <p>The links are restored before returning, but the choices that complete the puzzle are
+     * kept in mSelections</p>
+     * @return true iff the puzzle was completed
+     */
+    private boolean search() {
+        if (mRight[ROOT] == ROOT) {
+            return true;
+        }
+
+        int column = mRight[ROOT];
+
+        for (int c = mRight[column]; c != ROOT && mSize[column] > 1; c = mRight[c]) {
+            if (mSize[c] < mSize[column]) {
+                column = c;
+            }
+        }
+
+        if (mSize[column] == 0) {
+            return false;
+        }
+        mBranched |= mSize[column] > 1;
+
+        cover(column);
+        int depth = mSelectionCount++;
+
+        for (int node = mDown[column]; node != column; node = mDown[node]) {
+            mSelections[depth] = node;
+
+            for (int j = mRight[node]; j != node; j = mRight[j]) {
+                cover(mColumn[j]);
+            }
+            boolean isSolved = search();
+
+            for (int j = mLeft[node]; j != node; j = mLeft[j]) {
+                uncover(mColumn[j]);
+            }
+
+            if (isSolved) {
+                uncover(column);
+                return true;
+            }
+        }
+        mSelectionCount = depth;
+        uncover(column);
+        return false;
+    }
+
+    /**
+     * Covers every column of the choice containing node
+     */
+    private void select(int node) {
+        int j = node;
+        do {
+            cover(mColumn[j]);
+            j = mRight[j];
+        } while (j != node);
+    }
+
+    /**
+     * Undoes {@link #select(int)}
+     */
+    private void unselect(int node) {
+        int j = node;
+        do {
+            j = mLeft[j];
+            uncover(mColumn[j]);
+        } while (j != node);
+    }
+
+    private void cover(int column) {
+        mRight[mLeft[column]] = mRight[column];
+        mLeft[mRight[column]] = mLeft[column];
+        mCovered[column] = true;
+
+        for (int i = mDown[column]; i != column; i = mDown[i]) {
+            for (int j = mRight[i]; j != i; j = mRight[j]) {
+                mDown[mUp[j]] = mDown[j];
+                mUp[mDown[j]] = mUp[j];
+                mSize[mColumn[j]]--;
+            }
+        }
+    }
+
+    private void uncover(int column) {
+        for (int i = mUp[column]; i != column; i = mUp[i]) {
+            for (int j = mLeft[i]; j != i; j = mLeft[j]) {
+                mSize[mColumn[j]]++;
+                mDown[mUp[j]] = j;
+                mUp[mDown[j]] = j;
+            }
+        }
+        mCovered[column] = false;
+        mRight[mLeft[column]] = column;
+        mLeft[mRight[column]] = column;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import java.util.Locale;
+
+/**
+ * <p>Rates the difficulty of a puzzle from the work {@link SudokuPuzzleSolver} did to solve it,
+ * with no pass of its own</p>
+ * <p>The partition search splits a partition of n cells into parts of k and n - k cells: a
+ * naked subset of k cells, or equally a hidden subset of n - k. The smaller part is the size of
+ * the subset; 1 for a single, 2 for a pair, and so on up to 4. As the search takes the first
+ * subset it comes to, not the least, this is the subset the solver used, which a person might
+ * find a way around. The rounds of the deductions count the times the units were worked on
+ * again before the deductions stalled. When they stall short of a solution, a person would have
+ * to guess, and the depth of the completion search and its dead ends count for that</p>
+ * @see SudokuPuzzleSolver.SudokuPuzzleSolution#getDifficulty()
+ */
+public final class DifficultyRating {
+    /**
+     * Levels of {@link #getLevel()}. Singles suffice
+     */
+    public static final int LEVEL_EASY = 0;
+    /**
+     * Pairs are needed
+     */
+    public static final int LEVEL_MEDIUM = 1;
+    /**
+     * Triples or quads are needed
+     */
+    public static final int LEVEL_HARD = 2;
+    /**
+     * The deductions stall, so a guess is needed
+     */
+    public static final int LEVEL_EXPERT = 3;
+
+    /**
+     * The rounds of the general deductions. A round works on the units that were queued when it
+     * began
+     */
+    public final int deductionRounds;
+    /**
+     * The smaller part of the hardest split, or 0 if nothing was split
+     */
+    public final int hardestSplit;
+    /**
+     * The sum of the squares of the smaller parts of the splits
+     */
+    public final int splitWeight;
+    /**
+     * True iff the deductions did not complete the puzzle
+     */
+    public final boolean deductionsStalled;
+    /**
+     * The most choices made at once by the completion search, and the choices it undid
+     */
+    public final int searchDepth, backtracks;
+
+    public DifficultyRating(int deductionRounds, int hardestSplit, int splitWeight,
+                            boolean deductionsStalled, int searchDepth, int backtracks) {
+        this.deductionRounds = deductionRounds;
+        this.hardestSplit = hardestSplit;
+        this.splitWeight = splitWeight;
+        this.deductionsStalled = deductionsStalled;
+        this.searchDepth = searchDepth;
+        this.backtracks = backtracks;
+    }
+
+    /**
+     * @return One of {@link #LEVEL_EASY}, {@link #LEVEL_MEDIUM}, {@link #LEVEL_HARD} and
+     * {@link #LEVEL_EXPERT}, by the hardest step needed
+     */
+    public int getLevel() {
+        return deductionsStalled ? LEVEL_EXPERT
+                : hardestSplit > 2 ? LEVEL_HARD
+                : hardestSplit == 2 ? LEVEL_MEDIUM
+                : LEVEL_EASY;
+    }
+
+    /**
+     * @return A score for ranking puzzles; the greater, the harder. The puzzles of a level score
+     * above those of the levels below it, and among themselves by the work they took
+     */
+    public int getScore() {
+        int work = splitWeight + 2 * deductionRounds;
+
+        if (deductionsStalled) {
+            work += 20 * searchDepth + 5 * backtracks;
+        }
+        return getLevel() * 1000 + Math.min(work, 999);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "level=%d score=%d rounds=%d hardestSplit=%d " +
+                        "splitWeight=%d stalled=%b depth=%d backtracks=%d",
+                getLevel(), getScore(), deductionRounds, hardestSplit, splitWeight,
+                deductionsStalled, searchDepth, backtracks);
+    }
+}
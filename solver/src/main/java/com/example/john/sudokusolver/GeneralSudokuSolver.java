@@ -0,0 +1,735 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.STATUS_REQUIRED_SEARCH;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.STATUS_SOLVED;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.UNIT_TYPES;
+
+/**
+ * <p>Solves Sudoku puzzles of any {@link SudokuGeometry}, up to {@link SudokuGeometry#MAX_SIZE}
+ * digits, by the partition deductions of {@link SudokuPuzzleSolver}</p>
+ * <p>The digits of a cell are the bits of a long, and the elements of a partition are the bits of
+ * a long. The partitions of a unit are found by value with a scan of its slots, rather than by a
+ * table over every value</p>
+ * <p>A partition of m cells is split by a self-contained subset of at most m / 2 of its cells
+ * (a naked subset), or of at most m / 2 of its digits (a hidden subset); the complement of either
+ * is the larger self-contained subset, so that no split is missed</p>
+ * <p>An instance allocates its state once, and may be reused for puzzles of its geometry</p>
+ */
+public class GeneralSudokuSolver {
+
+    private final SudokuGeometry mGeometry;
+    private final int mSize;
+    private final int mCellCount;
+    private final int mUnitCount;
+    private final long mAllDigits;
+
+    /**
+     * The candidate mask of each cell
+     */
+    private final long[] mCandidates;
+
+    // The partition index; as that of SudokuPuzzleSolver
+    /**
+     * The elements of each partition, as bits; indexed by unit * size + slot
+     */
+    private final long[] mPartitionElements;
+    /**
+     * The value of each partition; indexed by unit * size + slot
+     */
+    private final long[] mPartitionValues;
+    /**
+     * The slot of the partition of each element; indexed by unit * size + element
+     */
+    private final int[] mPartitionSlots;
+    /**
+     * The number of partitions of each unit
+     */
+    private final int[] mPartitionCounts;
+    /**
+     * The value of each element of a unit, while its partitions are grouped
+     */
+    private final long[] mElementValues;
+
+    /**
+     * A circular queue of the units to be worked on by makeGeneralDeductions
+     */
+    private final int[] mScheduledUnits;
+    private final boolean[] mIsScheduled;
+    private int mScheduledUnitHead;
+    private int mScheduledUnitCount;
+
+    /**
+     * A stack of the cells that became certain, and are yet to be split from the partitions of
+     * their units
+     */
+    private final int[] mCertainCells;
+    private int mCertainCellCount;
+
+    /**
+     * A queue of the values of the partitions of a unit yet to be searched, to which values may
+     * also be added at the front
+     */
+    private final long[] mPartitionQueue;
+    private int mPartitionQueueHead;
+    private int mPartitionQueueCount;
+
+    // The state of the subset search
+    /**
+     * The digits of each cell of the partition
+     */
+    private final long[] mCellDigits;
+    /**
+     * The cells, as bits of their index into mCellDigits, of each digit of the partition
+     */
+    private final long[] mDigitCells;
+    /**
+     * The element of each cell of the partition
+     */
+    private final int[] mElements;
+    /**
+     * The digit of each digit of the partition, as a mask
+     */
+    private final long[] mDigits;
+    /**
+     * The item chosen at each depth of the search
+     */
+    private final int[] mPath;
+    /**
+     * mUnions[depth] is the union of the items chosen at depths [0, depth)
+     */
+    private final long[] mUnions;
+    private int mFoundSize;
+
+    /**
+     * Copies of mCandidates, one per level of the completion search. Allocated on first use
+     */
+    private long[][] mSnapshots;
+    private boolean mGuaranteedCompletion;
+    private boolean mIsInconsistent;
+
+    public GeneralSudokuSolver(SudokuGeometry geometry) {
+        mGeometry = geometry;
+        mSize = geometry.size;
+        mCellCount = geometry.cellCount;
+        mUnitCount = geometry.unitCount;
+        mAllDigits = geometry.allDigits();
+
+        mCandidates = new long[mCellCount];
+
+        mPartitionElements = new long[mUnitCount * mSize];
+        mPartitionValues = new long[mUnitCount * mSize];
+        mPartitionSlots = new int[mUnitCount * mSize];
+        mPartitionCounts = new int[mUnitCount];
+        mElementValues = new long[mSize];
+
+        mScheduledUnits = new int[mUnitCount];
+        mIsScheduled = new boolean[mUnitCount];
+        mCertainCells = new int[mCellCount];
+        mPartitionQueue = new long[mSize];
+
+        mCellDigits = new long[mSize];
+        mDigitCells = new long[mSize];
+        mElements = new int[mSize];
+        mDigits = new long[mSize];
+        mPath = new int[mSize];
+        mUnions = new long[mSize + 1];
+    }
+
+    public SudokuGeometry getGeometry() {
+        return mGeometry;
+    }
+
+    /**
+     * @param guaranteedCompletion When true, a puzzle whose deductions stall is finished by
+     *                             branching on the cell with the fewest digits. Defaults to false
+     * @see SudokuPuzzleSolver#setGuaranteedCompletion(boolean)
+     */
+    public void setGuaranteedCompletion(boolean guaranteedCompletion) {
+        mGuaranteedCompletion = guaranteedCompletion;
+    }
+
+    /**
+     * @param puzzle The digits 1-size of the puzzle, and 0 for an empty cell, indexed by cell;
+     *               ie. row * size + column
+     * @param partialSolution Receives the candidate mask of each cell, in which bit (digit - 1)
+     *                        is set iff digit is a possible digit of the cell
+     * @return The bitwise 'or' of {@link SudokuPuzzleSolver#STATUS_SOLVED} and
+     * {@link SudokuPuzzleSolver#STATUS_REQUIRED_SEARCH}, as they apply
+     * @throws IllegalArgumentException if a digit is out of range
+     */
+    public int solve(int[] puzzle, long[] partialSolution) {
+        for (int cell = 0, digit; cell < mCellCount; cell++) {
+            digit = puzzle[cell];
+
+            if (digit < 0 || digit > mSize) {
+                throw new IllegalArgumentException("Digit out of range: " + digit);
+            }
+            mCandidates[cell] = digit == 0 ? mAllDigits : 1L << (digit - 1);
+        }
+
+        boolean requiredSearch = false;
+        boolean isSolved = makeDeductions() && isSolved() && isConsistent();
+
+        if (!isSolved && mGuaranteedCompletion && !mIsInconsistent && isConsistent()) {
+            requiredSearch = true;
+            isSolved = completeBySearch(0);
+        }
+        System.arraycopy(mCandidates, 0, partialSolution, 0, mCellCount);
+
+        return (isSolved ? STATUS_SOLVED : 0) | (requiredSearch ? STATUS_REQUIRED_SEARCH : 0);
+    }
+
+    /**
+     * @param puzzle A size by size array containing the digits 1-size of the puzzle, and 0 for an
+     *               empty cell
+     * @param solution Receives the digit of each cell that is certain, and 0 for the others
+     * @return The status flags of {@link #solve(int[], long[])}
+     */
+    public int solve(int[][] puzzle, int[][] solution) {
+        int[] flatPuzzle = new int[mCellCount];
+        long[] partialSolution = new long[mCellCount];
+
+        for (int i = 0; i < mSize; i++) {
+            System.arraycopy(puzzle[i], 0, flatPuzzle, i * mSize, mSize);
+        }
+        int status = solve(flatPuzzle, partialSolution);
+
+        for (int cell = 0; cell < mCellCount; cell++) {
+            solution[cell / mSize][cell % mSize] = certainDigit(partialSolution[cell]);
+        }
+        return status;
+    }
+
+    /**
+     * @return 0 if mask does not have exactly 1 digit; otherwise the digit
+     */
+    public static int certainDigit(long mask) {
+        return mask != 0 && (mask & (mask - 1)) == 0 ? Long.numberOfTrailingZeros(mask) + 1 : 0;
+    }
+
+    private static boolean isCertain(long mask) {
+        return mask != 0 && (mask & (mask - 1)) == 0;
+    }
+
+    /**
+     * Places the cells into partitions, taking every certain cell as if it were an original digit,
+     * and makes all deductions
+     * @return false iff the puzzle was found to be inconsistent
+     */
+    private boolean makeDeductions() {
+        seedPartitions();
+        makeInitialDeductions();
+        makeGeneralDeductions();
+        return !mIsInconsistent;
+    }
+
+    /**
+     * <p>Branches on the cell with the fewest digits, trying each of its digits in turn</p>
+     * @see SudokuPuzzleSolver
+     * @return true iff the puzzle was completed. Otherwise, mCandidates is restored to its state
+     * before the call
+     */
+    private boolean completeBySearch(int depth) {
+        int cell = getCellWithFewestDigits();
+
+        if (cell < 0) {
+            return true;
+        }
+
+        if (mSnapshots == null) {
+            mSnapshots = new long[mCellCount][];
+        }
+
+        if (mSnapshots[depth] == null) {
+            mSnapshots[depth] = new long[mCellCount];
+        }
+        long[] snapshot = mSnapshots[depth];
+        System.arraycopy(mCandidates, 0, snapshot, 0, mCellCount);
+
+        for (long digits = mCandidates[cell], digit; digits != 0; digits &= ~digit) {
+            digit = digits & -digits; // The lowest remaining digit
+
+            mCandidates[cell] = digit;
+
+            if (makeDeductions() && isConsistent() && completeBySearch(depth + 1)) {
+                return true;
+            }
+            System.arraycopy(snapshot, 0, mCandidates, 0, mCellCount);
+        }
+        return false;
+    }
+
+    /**
+     * @return the cell with the fewest digits, of those with more than one digit; or -1 if every
+     * cell has a single digit
+     */
+    private int getCellWithFewestDigits() {
+        int fewestCell = -1;
+        int fewest = mSize + 1;
+
+        for (int cell = 0, length; cell < mCellCount; cell++) {
+            length = Long.bitCount(mCandidates[cell]);
+
+            if (length > 1 && length < fewest) {
+                fewest = length;
+                fewestCell = cell;
+
+                if (length == 2) {
+                    break;
+                }
+            }
+        }
+        return fewestCell;
+    }
+
+    /**
+     * <p>Places the cells of every unit into partitions: each certain cell forms a partition of
+     * its own, and the other cells form a single partition of all digits</p>
+     */
+    private void seedPartitions() {
+        mCertainCellCount = 0;
+        mIsInconsistent = false;
+
+        for (int unit = 0; unit < mUnitCount; unit++) {
+            for (int element = 0; element < mSize; element++) {
+                long value = mCandidates[mGeometry.unitCells[unit * mSize + element]];
+                mElementValues[element] = isCertain(value) ? value : mAllDigits;
+            }
+            groupPartitions(unit, mElementValues);
+        }
+    }
+
+    /**
+     * Makes the value of each partition that is not self-contained exclude the digits of the
+     * self-contained partitions of its unit, and removes them from its cells
+     */
+    private void makeInitialDeductions() {
+        for (int unit = 0; unit < mUnitCount && !mIsInconsistent; unit++) {
+            int slotBase = unit * mSize;
+            long invertibleDigits = 0;
+
+            for (int slot = 0; slot < mPartitionCounts[unit]; slot++) {
+                if (Long.bitCount(mPartitionValues[slotBase + slot])
+                        == Long.bitCount(mPartitionElements[slotBase + slot])) {
+                    invertibleDigits |= mPartitionValues[slotBase + slot];
+                }
+            }
+
+            for (int slot = 0; slot < mPartitionCounts[unit]; slot++) {
+                long value = mPartitionValues[slotBase + slot];
+                long elements = mPartitionElements[slotBase + slot];
+
+                if (Long.bitCount(value) > Long.bitCount(elements)) {
+                    value &= ~invertibleDigits;
+                    mPartitionValues[slotBase + slot] = value;
+
+                    for (; elements != 0; elements &= elements - 1) {
+                        maskCell(mGeometry.unitCells[slotBase + Long.numberOfTrailingZeros(elements)], value);
+                    }
+                }
+            }
+
+            // Masked partitions may now share a value with another partition
+            indexUnitPartitions(unit);
+            propagateCertainCells();
+        }
+    }
+
+    private void makeGeneralDeductions() {
+        mScheduledUnitHead = mScheduledUnitCount = 0;
+
+        for (int unit = 0; unit < mUnitCount; unit++) {
+            mIsScheduled[unit] = false;
+        }
+
+        for (int unit = 0; unit < mUnitCount; unit++) {
+            scheduleUnit(unit);
+        }
+
+        while (mScheduledUnitCount > 0 && !mIsInconsistent) {
+            int unit = mScheduledUnits[mScheduledUnitHead];
+            mScheduledUnitHead = (mScheduledUnitHead + 1) % mUnitCount;
+            mScheduledUnitCount--;
+            mIsScheduled[unit] = false;
+
+            deducePartitions(unit);
+        }
+    }
+
+    private void scheduleUnit(int unit) {
+        if (!mIsScheduled[unit]) {
+            mIsScheduled[unit] = true;
+            mScheduledUnits[(mScheduledUnitHead + mScheduledUnitCount++) % mUnitCount] = unit;
+        }
+    }
+
+    /**
+     * Searches each partition of more than one cell of the unit, and the partitions split from
+     * them, until none can be split
+     */
+    private void deducePartitions(int unit) {
+        int slotBase = unit * mSize;
+        mPartitionQueueHead = mPartitionQueueCount = 0;
+
+        for (int slot = 0; slot < mPartitionCounts[unit]; slot++) {
+            if (Long.bitCount(mPartitionElements[slotBase + slot]) > 1) {
+                mPartitionQueue[(mPartitionQueueHead + mPartitionQueueCount++) % mSize] =
+                        mPartitionValues[slotBase + slot];
+            }
+        }
+
+        while (mPartitionQueueCount > 0 && !mIsInconsistent) {
+            long value = mPartitionQueue[mPartitionQueueHead];
+            mPartitionQueueHead = (mPartitionQueueHead + 1) % mSize;
+            mPartitionQueueCount--;
+
+            shrinkPartition(unit, value);
+        }
+    }
+
+    private void queuePartitionFirst(long value) {
+        mPartitionQueueHead = (mPartitionQueueHead + mSize - 1) % mSize;
+        mPartitionQueue[mPartitionQueueHead] = value;
+        mPartitionQueueCount++;
+    }
+
+    /**
+     * Searches the partition of the unit with the value for a smaller, self-contained partition,
+     * and splits it in two if there is one
+     */
+    private void shrinkPartition(int unit, long value) {
+        int slotBase = unit * mSize;
+        int slot = findSlot(unit, value);
+
+        if (slot < 0) {
+            return; // Merged into another partition of an inconsistent puzzle
+        }
+        long elements = mPartitionElements[slotBase + slot];
+        int cellCount = Long.bitCount(elements);
+        int digitCount = Long.bitCount(value);
+
+        if (cellCount < 2) {
+            return;
+        }
+
+        if (digitCount < cellCount) {
+            mIsInconsistent = true;
+            return;
+        }
+
+        // Load the digits of each cell
+        int k = 0;
+
+        for (long rest = elements; rest != 0; rest &= rest - 1, k++) {
+            int element = Long.numberOfTrailingZeros(rest);
+            long digits = mCandidates[mGeometry.unitCells[slotBase + element]];
+
+            if (digits == 0) {
+                mIsInconsistent = true;
+                return;
+            }
+            mCellDigits[k] = digits;
+            mElements[k] = element;
+        }
+
+        long augElements = 0;
+        long augValue = 0;
+
+        if (search(mCellDigits, cellCount, cellCount / 2)) { // A naked subset
+            for (int depth = 0; depth < mFoundSize; depth++) {
+                augElements |= 1L << mElements[mPath[depth]];
+            }
+            augValue = mUnions[mFoundSize];
+        } else if (digitCount == cellCount) {
+            // Load the cells of each digit
+            k = 0;
+
+            for (long rest = value, digit, cells; rest != 0; rest &= ~digit, k++) {
+                digit = rest & -rest;
+                cells = 0;
+
+                for (int j = 0; j < cellCount; j++) {
+                    if ((mCellDigits[j] & digit) != 0) {
+                        cells |= 1L << j;
+                    }
+                }
+
+                if (cells == 0) {
+                    mIsInconsistent = true;
+                    return;
+                }
+                mDigits[k] = digit;
+                mDigitCells[k] = cells;
+            }
+
+            if (search(mDigitCells, digitCount, cellCount / 2)) { // A hidden subset
+                for (int depth = 0; depth < mFoundSize; depth++) {
+                    augValue |= mDigits[mPath[depth]];
+                }
+
+                for (long cells = mUnions[mFoundSize]; cells != 0; cells &= cells - 1) {
+                    augElements |= 1L << mElements[Long.numberOfTrailingZeros(cells)];
+                }
+            }
+        }
+
+        if (augElements == 0) {
+            return;
+        }
+        long altElements = elements & ~augElements;
+        long altValue = value & ~augValue;
+
+        if (Long.bitCount(augElements) > 1) {
+            queuePartitionFirst(augValue);
+        }
+
+        if (Long.bitCount(altElements) > 1) {
+            queuePartitionFirst(altValue);
+        }
+
+        splitPartition(unit, slot, augElements, augValue, altValue);
+
+        for (; augElements != 0; augElements &= augElements - 1) {
+            maskCell(mGeometry.unitCells[slotBase + Long.numberOfTrailingZeros(augElements)], augValue);
+        }
+
+        for (; altElements != 0; altElements &= altElements - 1) {
+            maskCell(mGeometry.unitCells[slotBase + Long.numberOfTrailingZeros(altElements)], altValue);
+        }
+        propagateCertainCells();
+    }
+
+    /**
+     * <p>Searches items for a subset whose union has as many bits as the subset has items, and
+     * at most limit of them. Subsets are only grown by an item that shares a bit with them</p>
+     * @return true iff such a subset was found; its items are mPath[0, mFoundSize), and its
+     * union is mUnions[mFoundSize]
+     * @see SudokuPuzzleSolver
+     */
+    private boolean search(long[] items, int count, int limit) {
+        int depth = 0;
+        int index = 0; // The next item to try at depth
+        long union;
+        int length;
+        mUnions[0] = 0;
+
+        while (true) {
+            if (index == count) { // Exhausted; undo the choice at the previous depth
+                if (depth == 0) {
+                    return false;
+                }
+                index = mPath[--depth] + 1;
+                continue;
+            }
+
+            if (depth > 0 && (items[index] & mUnions[depth]) == 0) { // Empty intersection
+                index++;
+                continue;
+            }
+            union = mUnions[depth] | items[index];
+            length = Long.bitCount(union);
+
+            if (length > limit) { // The union only grows
+                index++;
+                continue;
+            }
+            mPath[depth] = index;
+            mUnions[depth + 1] = union;
+
+            if (length == depth + 1) {
+                mFoundSize = depth + 1;
+                return true;
+            }
+
+            if (length - (depth + 1) > count - 1 - index) { // Too few items left to close the gap
+                index++;
+                continue;
+            }
+            depth++;
+            index++;
+        }
+    }
+
+    /**
+     * @return the slot of the partition of the unit with the value, or -1 if there is none
+     */
+    private int findSlot(int unit, long value) {
+        int slotBase = unit * mSize;
+
+        for (int slot = 0; slot < mPartitionCounts[unit]; slot++) {
+            if (mPartitionValues[slotBase + slot] == value) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Rebuilds the partitions of the unit from the values of their slots, merging the partitions
+     * that share a value
+     */
+    private void indexUnitPartitions(int unit) {
+        int slotBase = unit * mSize;
+
+        for (int element = 0; element < mSize; element++) {
+            mElementValues[element] = mPartitionValues[slotBase + mPartitionSlots[slotBase + element]];
+        }
+        groupPartitions(unit, mElementValues);
+    }
+
+    /**
+     * Rebuilds the partitions of the unit; elements of equal value form a partition
+     */
+    private void groupPartitions(int unit, long[] elementValues) {
+        int slotBase = unit * mSize;
+        mPartitionCounts[unit] = 0;
+
+        for (int element = 0, slot; element < mSize; element++) {
+            long value = elementValues[element];
+            slot = findSlot(unit, value);
+
+            if (slot < 0) {
+                slot = mPartitionCounts[unit]++;
+                mPartitionValues[slotBase + slot] = value;
+                mPartitionElements[slotBase + slot] = 0;
+            }
+            mPartitionElements[slotBase + slot] |= 1L << element;
+            mPartitionSlots[slotBase + element] = slot;
+        }
+    }
+
+    /**
+     * Splits a partition of the unit in two. The partition of value altValue takes the slot of
+     * the parent
+     */
+    private void splitPartition(int unit, int slot, long augElements, long augValue, long altValue) {
+        int slotBase = unit * mSize;
+
+        if (findSlot(unit, augValue) >= 0 || findSlot(unit, altValue) >= 0) {
+            // Only an inconsistent puzzle repeats a value within a unit
+            for (int element = 0, k; element < mSize; element++) {
+                k = mPartitionSlots[slotBase + element];
+                mElementValues[element] = k != slot ? mPartitionValues[slotBase + k]
+                        : (augElements & 1L << element) != 0 ? augValue : altValue;
+            }
+            groupPartitions(unit, mElementValues);
+            return;
+        }
+        int aug = mPartitionCounts[unit]++;
+
+        mPartitionElements[slotBase + aug] = augElements;
+        mPartitionValues[slotBase + aug] = augValue;
+
+        mPartitionElements[slotBase + slot] &= ~augElements;
+        mPartitionValues[slotBase + slot] = altValue;
+
+        for (long rest = augElements; rest != 0; rest &= rest - 1) {
+            mPartitionSlots[slotBase + Long.numberOfTrailingZeros(rest)] = aug;
+        }
+    }
+
+    /**
+     * Removes digits from the cell, and queues the units of the cell if it lost any
+     * @param digits the digits to keep
+     */
+    private void maskCell(int cell, long digits) {
+        long value = mCandidates[cell];
+
+        if ((value & ~digits) != 0) {
+            value &= digits;
+            mCandidates[cell] = value;
+
+            for (int k = cell * UNIT_TYPES, end = k + UNIT_TYPES; k < end; k++) {
+                scheduleUnit(mGeometry.cellUnits[k]);
+            }
+
+            if (value == 0) {
+                mIsInconsistent = true;
+            } else if (isCertain(value)) {
+                mCertainCells[mCertainCellCount++] = cell;
+            }
+        }
+    }
+
+    /**
+     * Splits every cell that became certain from the partitions of all of its units
+     * @see SudokuPuzzleSolver
+     */
+    private void propagateCertainCells() {
+        while (mCertainCellCount > 0) {
+            int cell = mCertainCells[--mCertainCellCount];
+            long digit = mCandidates[cell];
+
+            if (!isCertain(digit)) {
+                continue; // Emptied since, in an inconsistent puzzle
+            }
+
+            for (int k = cell * UNIT_TYPES, end = k + UNIT_TYPES; k < end; k++) {
+                isolateCell(mGeometry.cellUnits[k], mGeometry.cellElements[k], digit);
+            }
+        }
+    }
+
+    private void isolateCell(int unit, int element, long digit) {
+        int slotBase = unit * mSize;
+        int slot = mPartitionSlots[slotBase + element];
+        long elements = mPartitionElements[slotBase + slot];
+        long value = mPartitionValues[slotBase + slot];
+
+        if (elements == 1L << element || (value & digit) == 0) {
+            return; // Already isolated, or an inconsistent puzzle
+        }
+        splitPartition(unit, slot, 1L << element, digit, value & ~digit);
+
+        for (long rest = elements & ~(1L << element); rest != 0; rest &= rest - 1) {
+            maskCell(mGeometry.unitCells[slotBase + Long.numberOfTrailingZeros(rest)], value & ~digit);
+        }
+        // A queued value of the parent partition is now stale
+        scheduleUnit(unit);
+    }
+
+    /**
+     * @return false if some cell has no digits, some unit is missing a digit, or a digit is
+     * certain in two cells of a unit
+     */
+    boolean isConsistent() {
+        for (int unit = 0; unit < mUnitCount; unit++) {
+            long union = 0;
+            long certain = 0;
+
+            for (int element = 0; element < mSize; element++) {
+                long value = mCandidates[mGeometry.unitCells[unit * mSize + element]];
+
+                if (value == 0) {
+                    return false;
+                }
+                union |= value;
+
+                if (isCertain(value)) {
+                    if ((certain & value) != 0) {
+                        return false;
+                    }
+                    certain |= value;
+                }
+            }
+
+            if (union != mAllDigits) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isSolved() {
+        for (int cell = 0; cell < mCellCount; cell++) {
+            if (!isCertain(mCandidates[cell])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
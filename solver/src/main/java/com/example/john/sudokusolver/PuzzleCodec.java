@@ -0,0 +1,206 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import java.nio.ByteBuffer;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.ALL_DIGITS;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.MAX_LENGTH;
+
+/**
+ * <p>Packs puzzles and candidate grids into bytes, for storage and transfer</p>
+ * <p>The givens of a puzzle take 4 bits per cell, two cells per byte with the first in the high
+ * bits: {@link #GIVENS_BYTES} bytes. A candidate grid, such as the partialSolution of
+ * {@link SudokuPuzzleSolver#solve(int[], int[])}, takes the 9 bits of each cell's mask, most
+ * significant first: {@link #CANDIDATES_BYTES} bytes. Unused trailing bits are 0</p>
+ * <p>The ByteBuffer methods are relative: they read or write at the position of the buffer and
+ * advance it, so that many puzzles may be packed one after another</p>
+ */
+public final class PuzzleCodec {
+
+    private static final int DIGIT_BITS = 4;
+    private static final int MASK_BITS = MAX_LENGTH;
+
+    public static final int GIVENS_BYTES = (CELL_COUNT * DIGIT_BITS + 7) / 8;
+    public static final int CANDIDATES_BYTES = (CELL_COUNT * MASK_BITS + 7) / 8;
+
+    private PuzzleCodec() {
+    }
+
+    /**
+     * @param puzzle The digit of each cell, indexed by cell; 0 for an empty cell
+     * @throws IllegalArgumentException if a digit is not 0-9
+     */
+    public static void encodeGivens(int[] puzzle, ByteBuffer dst) {
+        encodeGivensAt(puzzle, 0, dst);
+    }
+
+    /**
+     * @param puzzles Puzzles indexed by cell, one after another
+     * @param count The number of puzzles to encode
+     */
+    public static void encodeGivens(int[] puzzles, int count, ByteBuffer dst) {
+        for (int p = 0; p < count; p++) {
+            encodeGivensAt(puzzles, p * CELL_COUNT, dst);
+        }
+    }
+
+    public static void encodeGivens(int[][] puzzle, ByteBuffer dst) {
+        for (int cell = 0; cell < CELL_COUNT; cell += 2) {
+            int high = checkDigit(puzzle[cell / MAX_LENGTH][cell % MAX_LENGTH]);
+            int low = cell + 1 < CELL_COUNT
+                    ? checkDigit(puzzle[(cell + 1) / MAX_LENGTH][(cell + 1) % MAX_LENGTH]) : 0;
+            dst.put((byte) (high << DIGIT_BITS | low));
+        }
+    }
+
+    public static byte[] encodeGivens(int[][] puzzle) {
+        byte[] bytes = new byte[GIVENS_BYTES];
+        encodeGivens(puzzle, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    private static void encodeGivensAt(int[] puzzles, int offset, ByteBuffer dst) {
+        int end = offset + CELL_COUNT;
+
+        for (int cell = offset; cell < end; cell += 2) {
+            int high = checkDigit(puzzles[cell]);
+            int low = cell + 1 < end ? checkDigit(puzzles[cell + 1]) : 0;
+            dst.put((byte) (high << DIGIT_BITS | low));
+        }
+    }
+
+    /**
+     * @param puzzle Receives the digit of each cell, indexed by cell
+     * @throws IllegalArgumentException if a digit is not 0-9
+     */
+    public static void decodeGivens(ByteBuffer src, int[] puzzle) {
+        decodeGivensAt(src, puzzle, 0);
+    }
+
+    /**
+     * @param puzzles Receives count puzzles indexed by cell, one after another
+     */
+    public static void decodeGivens(ByteBuffer src, int[] puzzles, int count) {
+        for (int p = 0; p < count; p++) {
+            decodeGivensAt(src, puzzles, p * CELL_COUNT);
+        }
+    }
+
+    public static void decodeGivens(ByteBuffer src, int[][] puzzle) {
+        for (int cell = 0; cell < CELL_COUNT; cell += 2) {
+            int b = src.get() & 0xFF;
+            puzzle[cell / MAX_LENGTH][cell % MAX_LENGTH] = checkDigit(b >>> DIGIT_BITS);
+
+            if (cell + 1 < CELL_COUNT) {
+                puzzle[(cell + 1) / MAX_LENGTH][(cell + 1) % MAX_LENGTH] = checkDigit(b & 0xF);
+            }
+        }
+    }
+
+    public static int[][] decodeGivens(byte[] bytes) {
+        int[][] puzzle = new int[MAX_LENGTH][MAX_LENGTH];
+        decodeGivens(ByteBuffer.wrap(bytes), puzzle);
+        return puzzle;
+    }
+
+    private static void decodeGivensAt(ByteBuffer src, int[] puzzles, int offset) {
+        int end = offset + CELL_COUNT;
+
+        for (int cell = offset; cell < end; cell += 2) {
+            int b = src.get() & 0xFF;
+            puzzles[cell] = checkDigit(b >>> DIGIT_BITS);
+
+            if (cell + 1 < end) {
+                puzzles[cell + 1] = checkDigit(b & 0xF);
+            }
+        }
+    }
+
+    /**
+     * @param partialSolution The candidate mask of each cell, indexed by cell
+     * @throws IllegalArgumentException if a mask has bits beyond digit 9
+     */
+    public static void encodeCandidates(int[] partialSolution, ByteBuffer dst) {
+        encodeCandidatesAt(partialSolution, 0, dst);
+    }
+
+    /**
+     * @param partialSolutions Candidate grids indexed by cell, one after another
+     * @param count The number of grids to encode
+     */
+    public static void encodeCandidates(int[] partialSolutions, int count, ByteBuffer dst) {
+        for (int p = 0; p < count; p++) {
+            encodeCandidatesAt(partialSolutions, p * CELL_COUNT, dst);
+        }
+    }
+
+    private static void encodeCandidatesAt(int[] partialSolutions, int offset, ByteBuffer dst) {
+        int end = offset + CELL_COUNT;
+        // The bits not yet written, in the low `bits` bits of pending
+        int pending = 0;
+        int bits = 0;
+
+        for (int cell = offset; cell < end; cell++) {
+            int mask = partialSolutions[cell];
+
+            if ((mask & ~ALL_DIGITS) != 0) {
+                throw new IllegalArgumentException("Not a candidate mask: " + mask);
+            }
+            pending = pending << MASK_BITS | mask;
+            bits += MASK_BITS;
+
+            while (bits >= 8) {
+                bits -= 8;
+                dst.put((byte) (pending >>> bits));
+            }
+            pending &= (1 << bits) - 1;
+        }
+
+        if (bits > 0) {
+            dst.put((byte) (pending << (8 - bits)));
+        }
+    }
+
+    /**
+     * @param partialSolution Receives the candidate mask of each cell, indexed by cell
+     */
+    public static void decodeCandidates(ByteBuffer src, int[] partialSolution) {
+        decodeCandidatesAt(src, partialSolution, 0);
+    }
+
+    /**
+     * @param partialSolutions Receives count candidate grids indexed by cell, one after another
+     */
+    public static void decodeCandidates(ByteBuffer src, int[] partialSolutions, int count) {
+        for (int p = 0; p < count; p++) {
+            decodeCandidatesAt(src, partialSolutions, p * CELL_COUNT);
+        }
+    }
+
+    private static void decodeCandidatesAt(ByteBuffer src, int[] partialSolutions, int offset) {
+        int end = offset + CELL_COUNT;
+        int pending = 0;
+        int bits = 0;
+
+        for (int cell = offset; cell < end; cell++) {
+            while (bits < MASK_BITS) {
+                pending = pending << 8 | (src.get() & 0xFF);
+                bits += 8;
+            }
+            bits -= MASK_BITS;
+            partialSolutions[cell] = (pending >>> bits) & ALL_DIGITS;
+            pending &= (1 << bits) - 1;
+        }
+    }
+
+    private static int checkDigit(int digit) {
+        if (digit < 0 || digit > MAX_LENGTH) {
+            throw new IllegalArgumentException("Not a digit: " + digit);
+        }
+        return digit;
+    }
+}
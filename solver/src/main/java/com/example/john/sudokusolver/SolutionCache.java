@@ -0,0 +1,134 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>A bounded cache of packed solutions, keyed by packed puzzle, that evicts the least recently
+ * used entry first</p>
+ * <p>Both the number of entries and their size in bytes are bounded. The size of an entry is its
+ * key and value, and {@link #ENTRY_OVERHEAD} for the objects that hold them</p>
+ * <p>Thread safe, so that one cache may serve the solvers of several threads</p>
+ * @see CachingSudokuSolver
+ */
+public class SolutionCache {
+
+    /**
+     * The approximate bytes of the map entry, key and arrays of an entry, beyond their contents
+     */
+    public static final int ENTRY_OVERHEAD = 96;
+
+    /**
+     * Wraps a byte array as a key
+     */
+    private static final class Key {
+        final byte[] bytes;
+        final int hash;
+
+        Key(byte[] bytes) {
+            this.bytes = bytes;
+            hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(bytes, ((Key) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final int mMaxEntries;
+    private final long mMaxBytes;
+    private long mBytes;
+    private long mHits;
+    private long mMisses;
+    private final LinkedHashMap<Key, byte[]> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param maxEntries The most entries kept
+     * @param maxBytes The most bytes kept, by the size of entries
+     */
+    public SolutionCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("The bounds must be positive");
+        }
+        mMaxEntries = maxEntries;
+        mMaxBytes = maxBytes;
+    }
+
+    /**
+     * @return The value of key, made the most recently used; or null if key is absent
+     */
+    public synchronized byte[] get(byte[] key) {
+        byte[] value = mEntries.get(new Key(key));
+
+        if (value == null) {
+            mMisses++;
+        } else {
+            mHits++;
+        }
+        return value;
+    }
+
+    /**
+     * <p>Keeps value for key, evicting the least recently used entries until within bounds. An
+     * entry larger than the byte bound is not kept</p>
+     * <p>The arrays must not be changed afterwards</p>
+     */
+    public synchronized void put(byte[] key, byte[] value) {
+        long size = sizeOf(key, value);
+
+        if (size > mMaxBytes) {
+            return;
+        }
+        byte[] previous = mEntries.put(new Key(key), value);
+
+        if (previous != null) {
+            mBytes -= sizeOf(key, previous);
+        }
+        mBytes += size;
+
+        Iterator<Map.Entry<Key, byte[]>> eldest = mEntries.entrySet().iterator();
+
+        while (mEntries.size() > mMaxEntries || mBytes > mMaxBytes) {
+            Map.Entry<Key, byte[]> entry = eldest.next();
+            mBytes -= sizeOf(entry.getKey().bytes, entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        mEntries.clear();
+        mBytes = 0;
+    }
+
+    public synchronized int size() {
+        return mEntries.size();
+    }
+
+    public synchronized long getBytes() {
+        return mBytes;
+    }
+
+    public synchronized long getHits() {
+        return mHits;
+    }
+
+    public synchronized long getMisses() {
+        return mMisses;
+    }
+
+    private static long sizeOf(byte[] key, byte[] value) {
+        return key.length + value.length + ENTRY_OVERHEAD;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+/**
+ * <p>Limits the work of a solve, for callers bound to a latency. Once a limit is passed, the
+ * solve stops cleanly between two units of the deductions, or two branches of the completion
+ * search, and gives the candidates deduced so far</p>
+ * <p>A budget may also stop a solve once its thread is interrupted, so that cancelling the
+ * future of a solve on an executor stops it</p>
+ * <p>Immutable, so one budget may serve every solve, on any thread. The time is counted from the
+ * start of each solve</p>
+ * @see SudokuPuzzleSolver#solve(int[][], SolveBudget)
+ */
+public final class SolveBudget {
+    public static final SolveBudget UNLIMITED =
+            new SolveBudget(Long.MAX_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE);
+
+    /**
+     * The time of a solve
+     */
+    public final long nanos;
+    /**
+     * The subsets visited by the partition searches, with the branches taken by the completion
+     * search
+     */
+    public final long maxSearchNodes;
+    /**
+     * The rounds of the deductions, with those made again at each branch of the completion search
+     * @see DifficultyRating#deductionRounds
+     */
+    public final int maxRounds;
+    /**
+     * True iff the solve stops once its thread is interrupted. The interrupt is left set
+     */
+    public final boolean stopsOnInterrupt;
+
+    /**
+     * @throws IllegalArgumentException if a limit is negative
+     */
+    public SolveBudget(long nanos, long maxSearchNodes, int maxRounds) {
+        this(nanos, maxSearchNodes, maxRounds, false);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a limit is negative
+     */
+    public SolveBudget(long nanos, long maxSearchNodes, int maxRounds, boolean stopsOnInterrupt) {
+        if (nanos < 0 || maxSearchNodes < 0 || maxRounds < 0) {
+            throw new IllegalArgumentException("The limits must not be negative");
+        }
+        this.nanos = nanos;
+        this.maxSearchNodes = maxSearchNodes;
+        this.maxRounds = maxRounds;
+        this.stopsOnInterrupt = stopsOnInterrupt;
+    }
+
+    /**
+     * @return This budget, also stopping the solve once its thread is interrupted
+     */
+    public SolveBudget stoppingOnInterrupt() {
+        return new SolveBudget(nanos, maxSearchNodes, maxRounds, true);
+    }
+
+    public static SolveBudget ofNanos(long nanos) {
+        return new SolveBudget(nanos, Long.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    public static SolveBudget ofSearchNodes(long maxSearchNodes) {
+        return new SolveBudget(Long.MAX_VALUE, maxSearchNodes, Integer.MAX_VALUE);
+    }
+
+    public static SolveBudget ofRounds(int maxRounds) {
+        return new SolveBudget(Long.MAX_VALUE, Long.MAX_VALUE, maxRounds);
+    }
+}
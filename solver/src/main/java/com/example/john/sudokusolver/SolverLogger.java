@@ -0,0 +1,35 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+/**
+ * <p>Receives the errors reported by the solving engines, which have no logging framework of
+ * their own</p>
+ * <p>The app routes them to android.util.Log; a plain JVM may use {@link #STANDARD_ERROR}</p>
+ * @see SudokuPuzzleSolver#setLogger(SolverLogger)
+ */
+public interface SolverLogger {
+
+    /**
+     * Prints each error to System.err
+     */
+    SolverLogger STANDARD_ERROR = new SolverLogger() {
+        @Override
+        public void error(String tag, String message) {
+            System.err.println(tag + ": " + message);
+        }
+    };
+
+    /**
+     * Discards each error
+     */
+    SolverLogger NONE = new SolverLogger() {
+        @Override
+        public void error(String tag, String message) {
+        }
+    };
+
+    void error(String tag, String message);
+}
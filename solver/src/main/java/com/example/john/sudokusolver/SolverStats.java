@@ -0,0 +1,82 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import java.util.Locale;
+
+/**
+ * <p>Counts the work of one solve, phase by phase</p>
+ * <p>Collected only by a solver with {@link SudokuPuzzleSolver#setCollectStats(boolean)}</p>
+ * @see SudokuPuzzleSolver.SudokuPuzzleSolution#getStats()
+ */
+public final class SolverStats {
+    /**
+     * The units worked on by the general deductions, each to its fixed point. A unit is worked
+     * on again whenever one of its cells loses a digit
+     */
+    public long unitVisits;
+    /**
+     * The partitions of more than one cell queued to be shrunk, including those formed by a
+     * split
+     */
+    public long partitionsQueued;
+    /**
+     * The shrinks that split a partition, and those that did not
+     */
+    public long shrinkSuccesses, shrinkFailures;
+    /**
+     * The subsets visited by the partition searches
+     */
+    public long searchNodes;
+    /**
+     * The times a queued partition was looked up by its value, to position the unit's iterator
+     * at its head
+     */
+    public long partitionResets;
+    /**
+     * The branches taken by the completion search
+     */
+    public long searchBranches;
+    public long initialDeductionNanos, generalDeductionNanos, completionNanos;
+
+    public SolverStats() {
+    }
+
+    public SolverStats(SolverStats stats) {
+        set(stats);
+    }
+
+    void reset() {
+        unitVisits = partitionsQueued = shrinkSuccesses = shrinkFailures = searchNodes =
+                partitionResets = searchBranches = 0;
+        initialDeductionNanos = generalDeductionNanos = completionNanos = 0;
+    }
+
+    void set(SolverStats stats) {
+        unitVisits = stats.unitVisits;
+        partitionsQueued = stats.partitionsQueued;
+        shrinkSuccesses = stats.shrinkSuccesses;
+        shrinkFailures = stats.shrinkFailures;
+        searchNodes = stats.searchNodes;
+        partitionResets = stats.partitionResets;
+        searchBranches = stats.searchBranches;
+        initialDeductionNanos = stats.initialDeductionNanos;
+        generalDeductionNanos = stats.generalDeductionNanos;
+        completionNanos = stats.completionNanos;
+    }
+
+    public long getTotalNanos() {
+        return initialDeductionNanos + generalDeductionNanos + completionNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "units=%d queued=%d shrinks=%d/%d searchNodes=%d " +
+                        "resets=%d branches=%d initial=%dns general=%dns completion=%dns",
+                unitVisits, partitionsQueued, shrinkSuccesses, shrinkSuccesses + shrinkFailures,
+                searchNodes, partitionResets, searchBranches, initialDeductionNanos,
+                generalDeductionNanos, completionNanos);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import com.example.john.sudokusolver.SudokuPuzzleSolver.SudokuPuzzleSolution;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Solves many puzzles in parallel, on a {@link ForkJoinPool} or a caller-supplied executor</p>
+ * <p>Each worker thread keeps one {@link SudokuPuzzleSolver}, which it reuses for every puzzle it
+ * is given, as a solver instance must not be shared between threads</p>
+ * <p>Needs java.util.stream, so it is for the JVM; not for the app below API level 24</p>
+ */
+public class SudokuBatchSolver {
+
+    /**
+     * Receives each solution as soon as it is solved, on the worker thread that solved it
+     */
+    public interface ResultListener {
+        /**
+         * @param index The index of the puzzle in the list given to
+         *              {@link #solveAll(List, ResultListener)}
+         */
+        void onSolved(int index, SudokuPuzzleSolution solution);
+    }
+
+    private final Executor mExecutor;
+    /**
+     * The number of puzzles a stream of {@link #solveAll(Stream)} keeps in flight
+     */
+    private final int mWindow;
+    private final ThreadLocal<SudokuPuzzleSolver> mSolvers;
+
+    /**
+     * Solves on the common {@link ForkJoinPool}
+     */
+    public SudokuBatchSolver(boolean guaranteedCompletion) {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(),
+                guaranteedCompletion);
+    }
+
+    /**
+     * @param parallelism The number of threads of executor
+     * @param guaranteedCompletion @see SudokuPuzzleSolver#setGuaranteedCompletion(boolean)
+     */
+    public SudokuBatchSolver(Executor executor, int parallelism, final boolean guaranteedCompletion) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        mExecutor = executor;
+        mWindow = 2 * parallelism;
+        mSolvers = ThreadLocal.withInitial(() -> {
+            SudokuPuzzleSolver solver = new SudokuPuzzleSolver();
+            solver.setGuaranteedCompletion(guaranteedCompletion);
+            return solver;
+        });
+    }
+
+    /**
+     * @return The solutions, in the order of puzzles
+     */
+    public List<SudokuPuzzleSolution> solveAll(List<int[][]> puzzles) {
+        List<CompletableFuture<SudokuPuzzleSolution>> futures = new ArrayList<>(puzzles.size());
+
+        for (int[][] puzzle : puzzles) {
+            futures.add(submit(puzzle));
+        }
+
+        List<SudokuPuzzleSolution> solutions = new ArrayList<>(puzzles.size());
+
+        for (CompletableFuture<SudokuPuzzleSolution> future : futures) {
+            solutions.add(future.join());
+        }
+        return solutions;
+    }
+
+    /**
+     * <p>Streams the solutions in the order of puzzles. The puzzles are read as the solutions are
+     * consumed, keeping a bounded number of them in flight, so that the stream may be of any
+     * length</p>
+     * <p>Closing the returned stream closes puzzles</p>
+     */
+    public Stream<SudokuPuzzleSolution> solveAll(Stream<int[][]> puzzles) {
+        return StreamSupport.stream(new OrderedSolutions(puzzles.iterator()), false)
+                .onClose(puzzles::close);
+    }
+
+    /**
+     * Passes each solution to listener as soon as it is solved, in no particular order
+     * @return A future completed once every puzzle is solved, and listener has been called for it
+     */
+    public CompletableFuture<Void> solveAll(List<int[][]> puzzles, final ResultListener listener) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[puzzles.size()];
+
+        for (int i = 0; i < futures.length; i++) {
+            final int index = i;
+            futures[i] = submit(puzzles.get(i)).thenAccept(
+                    solution -> listener.onSolved(index, solution));
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private CompletableFuture<SudokuPuzzleSolution> submit(final int[][] puzzle) {
+        return CompletableFuture.supplyAsync(() -> mSolvers.get().solve(puzzle), mExecutor);
+    }
+
+    /**
+     * Submits the puzzles ahead of the solution consumed, up to mWindow of them
+     */
+    private final class OrderedSolutions extends Spliterators.AbstractSpliterator<SudokuPuzzleSolution> {
+        private final Iterator<int[][]> mPuzzles;
+        private final ArrayDeque<CompletableFuture<SudokuPuzzleSolution>> mInFlight =
+                new ArrayDeque<>(mWindow);
+
+        OrderedSolutions(Iterator<int[][]> puzzles) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            mPuzzles = puzzles;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SudokuPuzzleSolution> action) {
+            while (mInFlight.size() < mWindow && mPuzzles.hasNext()) {
+                mInFlight.add(submit(mPuzzles.next()));
+            }
+
+            if (mInFlight.isEmpty()) {
+                return false;
+            }
+            action.accept(mInFlight.poll().join());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,652 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.MAX_LENGTH;
+
+/**
+ * <p>Finds the canonical form of a puzzle: the least of its forms, row by row, under the
+ * transformations that keep a puzzle a puzzle. These are a transposition, a permutation of the
+ * bands and of the rows within each band, a permutation of the stacks and of the columns within
+ * each stack, and a relabeling of the digits. Empty cells are least</p>
+ * <p>Two puzzles have the same canonical form iff one is a transformation of the other, so the
+ * canonical form is a key for the solutions of all of them</p>
+ * <p>The form is built one row at a time. Every arrangement that gives the least rows so far is
+ * kept, and extended by each row that may come next. Columns that are empty in the rows so far
+ * are left unordered, as their order makes no difference yet. The digits are labeled in the
+ * order they first appear, so a digit not yet labeled is greater than every labeled digit.
+ * Which of two such digits comes first still decides their labels, so both orders are kept</p>
+ * <p>Two empty rows of a band may be swapped without changing the puzzle, as may two empty
+ * bands, so of those that may come next only the first is tried. This keeps sparse puzzles to a
+ * few arrangements per row. A completed grid is the costly case: every digit of its first row is
+ * new, so every order of its columns is kept until the second row</p>
+ * <p>An instance keeps its working state, and must not be shared between threads</p>
+ */
+public class SudokuCanonicalizer {
+
+    private static final int BAND_LENGTH = 3;
+    private static final int STACK_COUNT = MAX_LENGTH / BAND_LENGTH;
+    private static final int BAND_COUNT = MAX_LENGTH / BAND_LENGTH;
+    /**
+     * The rows of band 0, as bits
+     */
+    private static final int BAND_ROWS = (1 << BAND_LENGTH) - 1;
+    /**
+     * The first row of each band, as bits
+     */
+    private static final int FIRST_ROWS = 0b001001001;
+    /**
+     * The key of a digit without a label; greater than every label
+     */
+    private static final int NEW = MAX_LENGTH + 1;
+    /**
+     * The bits of a key or a value, packed into a stack's keys or a row's values
+     */
+    private static final int KEY_BITS = 4;
+    /**
+     * The permutations of 2 and 3 positions
+     */
+    private static final int[][][] PERMUTATIONS = {
+            {}, {}, {{0, 1}, {1, 0}},
+            {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}}
+    };
+
+    /**
+     * The transformation of a puzzle to its canonical form
+     * @see #canonicalize(int[], CanonicalForm)
+     */
+    public static final class CanonicalForm {
+        final int[] puzzle = new int[CELL_COUNT];
+        /**
+         * The cell of the puzzle at each cell of the canonical form
+         */
+        final int[] sourceCells = new int[CELL_COUNT];
+        /**
+         * The canonical digit of each digit of the puzzle, indexed by digit
+         */
+        final int[] labels = new int[MAX_LENGTH + 1];
+        /**
+         * The digit of the puzzle of each canonical digit, indexed by canonical digit
+         */
+        final int[] digits = new int[MAX_LENGTH + 1];
+
+        /**
+         * @return The canonical form, indexed by cell. Owned by this instance
+         */
+        public int[] getPuzzle() {
+            return puzzle;
+        }
+
+        /**
+         * Writes the canonical form packed, as by {@link PuzzleCodec#encodeGivens(int[],
+         * ByteBuffer)}. Two puzzles write the same bytes iff one is a transformation of the
+         * other, so the bytes are a key by which to deduplicate puzzles
+         */
+        public void encode(ByteBuffer dst) {
+            PuzzleCodec.encodeGivens(puzzle, dst);
+        }
+
+        /**
+         * @param masks Candidate masks of the puzzle, indexed by cell
+         * @param canonicalMasks Receives the masks at their canonical cells, relabeled
+         */
+        public void toCanonical(int[] masks, int[] canonicalMasks) {
+            for (int cell = 0; cell < CELL_COUNT; cell++) {
+                canonicalMasks[cell] = relabel(masks[sourceCells[cell]], labels);
+            }
+        }
+
+        /**
+         * The inverse of {@link #toCanonical(int[], int[])}
+         */
+        public void toSource(int[] canonicalMasks, int[] masks) {
+            for (int cell = 0; cell < CELL_COUNT; cell++) {
+                masks[sourceCells[cell]] = relabel(canonicalMasks[cell], digits);
+            }
+        }
+
+        private static int relabel(int mask, int[] labels) {
+            int relabeled = 0;
+
+            for (int digit; mask != 0; mask &= mask - 1) {
+                digit = Integer.numberOfTrailingZeros(mask) + 1;
+                relabeled |= CandidateMask.of(labels[digit]);
+            }
+            return relabeled;
+        }
+    }
+
+    /**
+     * The rows and columns of an arrangement of the puzzle, and its labels
+     */
+    private static final class Candidate {
+        /**
+         * 0 for the puzzle as it is, 1 for its transposition
+         */
+        int orientation;
+        /**
+         * The row of the oriented puzzle at each row of the form
+         */
+        final int[] rows = new int[MAX_LENGTH];
+        int rowCount;
+        /**
+         * Bit (row) is set iff the row is among rows
+         */
+        int usedRows;
+        /**
+         * The stack of the oriented puzzle at each stack of the form
+         */
+        final int[] stacks = new int[STACK_COUNT];
+        /**
+         * Bit i is set iff the stacks at i and i + 1 may still be swapped
+         */
+        int stackTies;
+        /**
+         * The column within its stack at each position within the stack, indexed by
+         * stack * BAND_LENGTH + position; stack being that of the oriented puzzle
+         */
+        final int[] columns = new int[MAX_LENGTH];
+        /**
+         * Bit i of element stack is set iff the positions i and i + 1 of the stack may still be
+         * swapped
+         */
+        final int[] columnTies = new int[STACK_COUNT];
+        /**
+         * The label of each digit, or 0 for none yet; indexed by digit
+         */
+        final int[] labels = new int[MAX_LENGTH + 1];
+        int labelCount;
+
+        void set(Candidate from) {
+            orientation = from.orientation;
+            System.arraycopy(from.rows, 0, rows, 0, MAX_LENGTH);
+            rowCount = from.rowCount;
+            usedRows = from.usedRows;
+            System.arraycopy(from.stacks, 0, stacks, 0, STACK_COUNT);
+            stackTies = from.stackTies;
+            System.arraycopy(from.columns, 0, columns, 0, MAX_LENGTH);
+            System.arraycopy(from.columnTies, 0, columnTies, 0, STACK_COUNT);
+            System.arraycopy(from.labels, 0, labels, 0, MAX_LENGTH + 1);
+            labelCount = from.labelCount;
+        }
+
+        boolean isOrdered() {
+            return (stackTies | columnTies[0] | columnTies[1] | columnTies[2]) == 0;
+        }
+    }
+
+    /**
+     * The puzzle and its transposition, indexed by orientation * CELL_COUNT + cell
+     */
+    private final int[] mGrids = new int[2 * CELL_COUNT];
+    /**
+     * The empty rows of each orientation, as bits
+     */
+    private final int[] mEmptyRows = new int[2];
+    /**
+     * The values of each row, indexed by orientation * MAX_LENGTH + row, were it the first row
+     * that is not empty; as in mRowValue
+     */
+    private final long[] mFirstValues = new long[2 * MAX_LENGTH];
+    private final int[] mStackCounts = new int[STACK_COUNT];
+    private final int[] mCells = new int[CELL_COUNT];
+    private List<Candidate> mCandidates = new ArrayList<>();
+    private List<Candidate> mNextCandidates = new ArrayList<>();
+    private final List<Candidate> mFree = new ArrayList<>();
+    /**
+     * The candidates and rows that give the least row, as candidate index * MAX_LENGTH + row
+     */
+    private int[] mWinners = new int[MAX_LENGTH];
+    private int mWinnerCount;
+    /**
+     * The key of each column of the oriented puzzle in the row being arranged
+     */
+    private final int[] mKeys = new int[MAX_LENGTH];
+    /**
+     * The keys of each stack of the oriented puzzle in the row being arranged, in the order of
+     * its arranged columns, packed first key highest
+     */
+    private final int[] mStackKeys = new int[STACK_COUNT];
+    /**
+     * The values of the row last arranged, and of the least row; packed first value highest,
+     * so that they compare as numbers
+     */
+    private long mRowValue;
+    private long mLeastRow;
+    /**
+     * The arrangement of the row being arranged, before its ties are broken; as in Candidate
+     */
+    private final int[] mStacks = new int[STACK_COUNT];
+    private int mStackTies;
+    private final int[] mColumns = new int[MAX_LENGTH];
+    private final int[] mColumnTies = new int[STACK_COUNT];
+    /**
+     * The ties that must be broken both ways: as start * 4 + length, where start indexes
+     * mColumns, or is MAX_LENGTH + the position in mStacks. A stack holds at most one such tie,
+     * as does the order of the stacks
+     */
+    private final int[] mRuns = new int[STACK_COUNT + 1];
+    private int mRunCount;
+    /**
+     * The positions of each run before it is permuted, indexed by run
+     */
+    private final int[][] mRunPositions = new int[STACK_COUNT + 1][BAND_LENGTH];
+
+    /**
+     * @param puzzle The digits 1-9 of the puzzle, and 0 for an empty cell, indexed by cell
+     * @param form Receives the canonical form of puzzle
+     * @return false, leaving form as it was, if a digit appears twice in a row or a column;
+     * such a puzzle has no solution
+     */
+    public boolean canonicalize(int[] puzzle, CanonicalForm form) {
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            mGrids[cell] = puzzle[cell];
+            mGrids[CELL_COUNT + cell % MAX_LENGTH * MAX_LENGTH + cell / MAX_LENGTH] = puzzle[cell];
+        }
+
+        if (!hasDistinctRows(0) || !hasDistinctRows(1)) {
+            return false;
+        }
+        recycle(mCandidates);
+
+        for (int orientation = 0; orientation < 2; orientation++) {
+            Candidate candidate = obtain();
+            candidate.orientation = orientation;
+            candidate.rowCount = 0;
+            candidate.usedRows = 0;
+            candidate.stackTies = 0b11;
+
+            for (int i = 0; i < MAX_LENGTH; i++) {
+                candidate.stacks[i % STACK_COUNT] = i % STACK_COUNT;
+                candidate.columns[i] = i % BAND_LENGTH;
+                candidate.columnTies[i % STACK_COUNT] = 0b11;
+                candidate.labels[i + 1] = 0;
+            }
+            candidate.labelCount = 0;
+            mCandidates.add(candidate);
+        }
+
+        for (int level = 0; level < MAX_LENGTH; level++) {
+            findLeastRows();
+            recycle(mNextCandidates);
+
+            for (int w = 0; w < mWinnerCount; w++) {
+                extend(mCandidates.get(mWinners[w] / MAX_LENGTH), mWinners[w] % MAX_LENGTH);
+            }
+            List<Candidate> candidates = mCandidates;
+            mCandidates = mNextCandidates;
+            mNextCandidates = candidates;
+        }
+        toForm(mCandidates.get(0), puzzle, form);
+        return true;
+    }
+
+    /**
+     * @param puzzle A MAX_LENGTH by MAX_LENGTH array containing the digits 1-9 of the puzzle,
+     *               and 0 for an empty cell
+     * @see #canonicalize(int[], CanonicalForm)
+     */
+    public boolean canonicalize(int[][] puzzle, CanonicalForm form) {
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            System.arraycopy(puzzle[i], 0, mCells, i * MAX_LENGTH, MAX_LENGTH);
+        }
+        return canonicalize(mCells, form);
+    }
+
+    /**
+     * @param packed A puzzle packed as by {@link PuzzleCodec#encodeGivens(int[], ByteBuffer)},
+     *               read from its position, which advances past the puzzle
+     * @throws IllegalArgumentException if a digit is not 0-9
+     * @see #canonicalize(int[], CanonicalForm)
+     */
+    public boolean canonicalize(ByteBuffer packed, CanonicalForm form) {
+        PuzzleCodec.decodeGivens(packed, mCells);
+        return canonicalize(mCells, form);
+    }
+
+    /**
+     * Checks the rows of the oriented puzzle for a repeated digit, and notes the empty rows and
+     * mFirstValues
+     */
+    private boolean hasDistinctRows(int orientation) {
+        mEmptyRows[orientation] = 0;
+
+        for (int row = 0, base = orientation * CELL_COUNT; row < MAX_LENGTH; row++) {
+            int seen = 0;
+            int[] counts = mStackCounts;
+
+            for (int column = 0, digit; column < MAX_LENGTH; column++) {
+                digit = mGrids[base + row * MAX_LENGTH + column];
+
+                if (column % BAND_LENGTH == 0) {
+                    counts[column / BAND_LENGTH] = 0;
+                }
+
+                if (digit != 0) {
+                    if ((seen & 1 << digit) != 0) {
+                        return false;
+                    }
+                    seen |= 1 << digit;
+                    counts[column / BAND_LENGTH]++;
+                }
+            }
+
+            if (seen == 0) {
+                mEmptyRows[orientation] |= 1 << row;
+            }
+
+            // With every column tied, the stacks go in order of their digits, and each puts its
+            // empty columns first
+            int least = Math.min(counts[0], Math.min(counts[1], counts[2]));
+            int most = Math.max(counts[0], Math.max(counts[1], counts[2]));
+            int middle = counts[0] + counts[1] + counts[2] - least - most;
+            long value = 0;
+
+            for (int i = 0, label = 0, count; i < MAX_LENGTH; i++) {
+                count = i < BAND_LENGTH ? least : i < 2 * BAND_LENGTH ? middle : most;
+                value = value << KEY_BITS | (i % BAND_LENGTH < BAND_LENGTH - count ? 0 : ++label);
+            }
+            mFirstValues[orientation * MAX_LENGTH + row] = value;
+        }
+        return true;
+    }
+
+    /**
+     * Collects into mWinners every candidate and next row that give the least next row
+     */
+    private void findLeastRows() {
+        mWinnerCount = 0;
+
+        for (int c = 0; c < mCandidates.size(); c++) {
+            Candidate candidate = mCandidates.get(c);
+            boolean isOrdered = candidate.isOrdered();
+
+            for (int rows = nextRows(candidate), row; rows != 0; rows &= rows - 1) {
+                row = Integer.numberOfTrailingZeros(rows);
+
+                if (candidate.labelCount == 0) { // Every column is tied
+                    mRowValue = mFirstValues[candidate.orientation * MAX_LENGTH + row];
+                } else if (isOrdered) {
+                    valueRow(candidate, row);
+                } else {
+                    arrange(candidate, row);
+                }
+
+                if (mWinnerCount == 0 || mRowValue < mLeastRow) {
+                    mWinnerCount = 0;
+                    mLeastRow = mRowValue;
+                }
+
+                if (mRowValue == mLeastRow) {
+                    if (mWinnerCount == mWinners.length) {
+                        mWinners = Arrays.copyOf(mWinners, 2 * mWinnerCount);
+                    }
+                    mWinners[mWinnerCount++] = c * MAX_LENGTH + row;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The rows that may come next in candidate, as bits: those of the current band, or
+     * of the bands not yet used. An empty row is left out if an empty row of its band comes
+     * before it, or if its band is empty and an empty band comes before it
+     */
+    private int nextRows(Candidate candidate) {
+        int rows = 0;
+
+        if (candidate.rowCount % BAND_LENGTH == 0) {
+            for (int band = 0; band < BAND_COUNT; band++) {
+                if ((candidate.usedRows >> band * BAND_LENGTH & BAND_ROWS) == 0) {
+                    rows |= BAND_ROWS << band * BAND_LENGTH;
+                }
+            }
+        } else {
+            int band = candidate.rows[candidate.rowCount - 1] / BAND_LENGTH;
+            rows = BAND_ROWS << band * BAND_LENGTH & ~candidate.usedRows;
+        }
+        int emptyRows = mEmptyRows[candidate.orientation] & rows;
+
+        for (int empty = emptyRows, row, band, before; empty != 0; empty &= empty - 1) {
+            row = Integer.numberOfTrailingZeros(empty);
+            band = row / BAND_LENGTH;
+            before = emptyRows & (1 << row) - 1;
+
+            // before & before >> 1 & before >> 2 keeps the first row of each empty band before
+            if ((before >> band * BAND_LENGTH & BAND_ROWS) != 0
+                    || (emptyRows >> band * BAND_LENGTH & BAND_ROWS) == BAND_ROWS
+                    && (before & before >> 1 & before >> 2 & FIRST_ROWS) != 0) {
+                rows &= ~(1 << row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The values of row to mRowValue, for a candidate whose columns are all in order
+     */
+    private void valueRow(Candidate candidate, int row) {
+        int base = candidate.orientation * CELL_COUNT + row * MAX_LENGTH;
+        long value = 0;
+
+        for (int i = 0, label = candidate.labelCount, stack, digit; i < MAX_LENGTH; i++) {
+            stack = candidate.stacks[i / BAND_LENGTH];
+            digit = mGrids[base + stack * BAND_LENGTH + candidate.columns[stack * BAND_LENGTH + i % BAND_LENGTH]];
+            value = value << KEY_BITS
+                    | (digit == 0 ? 0 : candidate.labels[digit] != 0 ? candidate.labels[digit] : ++label);
+        }
+        mRowValue = value;
+    }
+
+    /**
+     * <p>Arranges the columns of candidate, within its ties, so that row is least. The
+     * arrangement goes to mStacks and mColumns, the values of the row to mRowValue, and the
+     * ties that must be broken both ways to mRuns</p>
+     */
+    private void arrange(Candidate candidate, int row) {
+        System.arraycopy(candidate.stacks, 0, mStacks, 0, STACK_COUNT);
+        System.arraycopy(candidate.columns, 0, mColumns, 0, MAX_LENGTH);
+        int base = candidate.orientation * CELL_COUNT + row * MAX_LENGTH;
+
+        for (int column = 0, digit; column < MAX_LENGTH; column++) {
+            digit = mGrids[base + column];
+            mKeys[column] = digit == 0 ? 0 : candidate.labels[digit] != 0 ? candidate.labels[digit] : NEW;
+        }
+        mRunCount = 0;
+
+        // Sort the columns of each stack within their ties
+        for (int stack = 0; stack < STACK_COUNT; stack++) {
+            int offset = stack * BAND_LENGTH;
+            int ties = candidate.columnTies[stack];
+            int newTies = 0;
+
+            for (int start = 0, end; ties != 0 && start < BAND_LENGTH; start = end) {
+                end = start + 1;
+
+                while (end < BAND_LENGTH && (ties & 1 << (end - 1)) != 0) {
+                    end++;
+                }
+
+                // Insertion sort of the tie, by key
+                for (int i = start + 1; i < end; i++) {
+                    int column = mColumns[offset + i];
+                    int j = i;
+
+                    for (; j > start && mKeys[offset + mColumns[offset + j - 1]]
+                            > mKeys[offset + column]; j--) {
+                        mColumns[offset + j] = mColumns[offset + j - 1];
+                    }
+                    mColumns[offset + j] = column;
+                }
+
+                // Equal keys stay tied if they are empty; if they are new, both orders are kept
+                for (int i = start, run = start; i < end; i = run) {
+                    int key = mKeys[offset + mColumns[offset + i]];
+                    run = i + 1;
+
+                    while (run < end && mKeys[offset + mColumns[offset + run]] == key) {
+                        run++;
+                    }
+
+                    if (run - i > 1) {
+                        if (key == 0) {
+                            newTies |= ((1 << (run - i - 1)) - 1) << i;
+                        } else {
+                            mRuns[mRunCount++] = (offset + i) * 4 + (run - i);
+                        }
+                    }
+                }
+            }
+            mColumnTies[stack] = newTies;
+            mStackKeys[stack] = mKeys[offset + mColumns[offset]] << 2 * KEY_BITS
+                    | mKeys[offset + mColumns[offset + 1]] << KEY_BITS
+                    | mKeys[offset + mColumns[offset + 2]];
+        }
+
+        // Sort the stacks within their ties, by their columns' keys
+        int ties = candidate.stackTies;
+        int newTies = 0;
+
+        for (int start = 0, end; ties != 0 && start < STACK_COUNT; start = end) {
+            end = start + 1;
+
+            while (end < STACK_COUNT && (ties & 1 << (end - 1)) != 0) {
+                end++;
+            }
+
+            for (int i = start + 1; i < end; i++) {
+                int stack = mStacks[i];
+                int j = i;
+
+                for (; j > start && mStackKeys[mStacks[j - 1]] > mStackKeys[stack]; j--) {
+                    mStacks[j] = mStacks[j - 1];
+                }
+                mStacks[j] = stack;
+            }
+
+            for (int i = start, run = start; i < end; i = run) {
+                run = i + 1;
+
+                while (run < end && mStackKeys[mStacks[run]] == mStackKeys[mStacks[i]]) {
+                    run++;
+                }
+
+                if (run - i > 1) {
+                    if (mStackKeys[mStacks[i]] == 0) {
+                        newTies |= ((1 << (run - i - 1)) - 1) << i;
+                    } else {
+                        mRuns[mRunCount++] = (MAX_LENGTH + i) * 4 + (run - i);
+                    }
+                }
+            }
+        }
+        mStackTies = newTies;
+
+        // The values of the row, labeling the new digits in order
+        long value = 0;
+
+        for (int i = 0, label = candidate.labelCount, keys, key; i < STACK_COUNT; i++) {
+            keys = mStackKeys[mStacks[i]];
+
+            for (int shift = (BAND_LENGTH - 1) * KEY_BITS; shift >= 0; shift -= KEY_BITS) {
+                key = keys >> shift & (1 << KEY_BITS) - 1;
+                value = value << KEY_BITS | (key == NEW ? ++label : key);
+            }
+        }
+        mRowValue = value;
+    }
+
+    /**
+     * Adds to mNextCandidates every way of breaking the ties of the arrangement of row
+     */
+    private void extend(Candidate candidate, int row) {
+        arrange(candidate, row);
+        breakTies(candidate, row, 0);
+    }
+
+    private void breakTies(Candidate candidate, int row, int run) {
+        if (run == mRunCount) {
+            Candidate next = obtain();
+            next.set(candidate);
+            System.arraycopy(mStacks, 0, next.stacks, 0, STACK_COUNT);
+            next.stackTies = mStackTies;
+            System.arraycopy(mColumns, 0, next.columns, 0, MAX_LENGTH);
+            System.arraycopy(mColumnTies, 0, next.columnTies, 0, STACK_COUNT);
+            next.rows[next.rowCount++] = row;
+            next.usedRows |= 1 << row;
+            int base = next.orientation * CELL_COUNT + row * MAX_LENGTH;
+
+            for (int i = 0, digit; i < MAX_LENGTH; i++) {
+                int stack = next.stacks[i / BAND_LENGTH];
+                digit = mGrids[base + stack * BAND_LENGTH + next.columns[stack * BAND_LENGTH + i % BAND_LENGTH]];
+
+                if (digit != 0 && next.labels[digit] == 0) {
+                    next.labels[digit] = ++next.labelCount;
+                }
+            }
+            mNextCandidates.add(next);
+            return;
+        }
+        int start = mRuns[run] / 4;
+        int length = mRuns[run] % 4;
+        boolean isStackRun = start >= MAX_LENGTH;
+        int[] positions = isStackRun ? mStacks : mColumns;
+        int offset = isStackRun ? start - MAX_LENGTH : start;
+        int[] original = mRunPositions[run];
+        System.arraycopy(positions, offset, original, 0, length);
+
+        for (int[] permutation : PERMUTATIONS[length]) {
+            for (int i = 0; i < length; i++) {
+                positions[offset + i] = original[permutation[i]];
+            }
+            breakTies(candidate, row, run + 1);
+        }
+        System.arraycopy(original, 0, positions, offset, length);
+    }
+
+    private void toForm(Candidate candidate, int[] puzzle, CanonicalForm form) {
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            int row = candidate.rows[cell / MAX_LENGTH];
+            int stack = candidate.stacks[cell % MAX_LENGTH / BAND_LENGTH];
+            int column = stack * BAND_LENGTH + candidate.columns[stack * BAND_LENGTH + cell % BAND_LENGTH];
+
+            form.sourceCells[cell] = candidate.orientation == 0 ? row * MAX_LENGTH + column
+                    : column * MAX_LENGTH + row;
+        }
+        System.arraycopy(candidate.labels, 0, form.labels, 0, MAX_LENGTH + 1);
+
+        // The digits absent from the puzzle take the remaining labels, in order
+        for (int digit = 1, label = candidate.labelCount; digit <= MAX_LENGTH; digit++) {
+            if (form.labels[digit] == 0) {
+                form.labels[digit] = ++label;
+            }
+        }
+
+        for (int digit = 0; digit <= MAX_LENGTH; digit++) {
+            form.digits[form.labels[digit]] = digit;
+        }
+
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            form.puzzle[cell] = form.labels[puzzle[form.sourceCells[cell]]];
+        }
+    }
+
+    private Candidate obtain() {
+        return mFree.isEmpty() ? new Candidate() : mFree.remove(mFree.size() - 1);
+    }
+
+    private void recycle(List<Candidate> candidates) {
+        for (int i = 0; i < candidates.size(); i++) { // Without the copy of addAll
+            mFree.add(candidates.get(i));
+        }
+        candidates.clear();
+    }
+}
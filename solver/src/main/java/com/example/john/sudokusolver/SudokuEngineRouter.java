@@ -0,0 +1,116 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import com.example.john.sudokusolver.SudokuPuzzleSolver.SudokuPuzzleSolution;
+
+import java.util.List;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.MAX_LENGTH;
+
+/**
+ * <p>Routes each puzzle to one of several engines by the number of its original digits
+ * (clues)</p>
+ * <p>Every clue count is routed to the first engine until {@link #calibrate(List, int)} measures
+ * which engine is fastest for it</p>
+ */
+public class SudokuEngineRouter implements SudokuSolverEngine {
+
+    private final SudokuSolverEngine[] mEngines;
+    /**
+     * Index into mEngines, indexed by clue count
+     */
+    private final int[] mRoutes = new int[CELL_COUNT + 1];
+
+    /**
+     * @param engines The engines to route between. They should agree on whether they complete
+     *                a puzzle; eg. {@link SudokuPuzzleSolver} with guaranteed completion and
+     *                {@link DancingLinksSolver}
+     */
+    public SudokuEngineRouter(SudokuSolverEngine... engines) {
+        if (engines.length == 0) {
+            throw new IllegalArgumentException("At least one engine is required");
+        }
+        mEngines = engines;
+    }
+
+    @Override
+    public SudokuPuzzleSolution solve(int[][] puzzle) {
+        return mEngines[mRoutes[countClues(puzzle)]].solve(puzzle);
+    }
+
+    /**
+     * @return The engine that {@link #solve(int[][])} uses for puzzles with clueCount clues
+     */
+    public SudokuSolverEngine getEngine(int clueCount) {
+        return mEngines[mRoutes[clueCount]];
+    }
+
+    /**
+     * <p>Times every engine on the sample puzzles, and routes each clue count present in the
+     * sample to the engine that took the least total time on it. An engine that failed to solve
+     * a puzzle that another engine solved is not chosen for that clue count</p>
+     * <p>Clue counts absent from the sample keep their route</p>
+     * @param rounds The number of times each puzzle is solved by each engine; at least 2. The
+     *               first round is not timed, as it warms up the engines
+     * @throws IllegalArgumentException if rounds < 2, as no round would be timed
+     */
+    public void calibrate(List<int[][]> sample, int rounds) {
+        if (rounds < 2) {
+            throw new IllegalArgumentException("At least 2 rounds are required");
+        }
+        long[][] nanos = new long[mEngines.length][CELL_COUNT + 1];
+        int[][] solved = new int[mEngines.length][CELL_COUNT + 1];
+        boolean[] isSampled = new boolean[CELL_COUNT + 1];
+
+        for (int e = 0; e < mEngines.length; e++) {
+            for (int round = 0; round < rounds; round++) {
+                for (int[][] puzzle : sample) {
+                    int clueCount = countClues(puzzle);
+                    long start = System.nanoTime();
+                    boolean isSolved = mEngines[e].solve(puzzle).isSolved;
+                    long elapsed = System.nanoTime() - start;
+
+                    if (round == 0) {
+                        isSampled[clueCount] = true;
+                        solved[e][clueCount] += isSolved ? 1 : 0;
+                    } else {
+                        nanos[e][clueCount] += elapsed;
+                    }
+                }
+            }
+        }
+
+        for (int clueCount = 0; clueCount <= CELL_COUNT; clueCount++) {
+            if (!isSampled[clueCount])
+                continue;
+
+            int best = 0;
+
+            for (int e = 1; e < mEngines.length; e++) {
+                if (solved[e][clueCount] > solved[best][clueCount]
+                        || solved[e][clueCount] == solved[best][clueCount]
+                        && nanos[e][clueCount] < nanos[best][clueCount]) {
+                    best = e;
+                }
+            }
+            mRoutes[clueCount] = best;
+        }
+    }
+
+    static int countClues(int[][] puzzle) {
+        int count = 0;
+
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            for (int j = 0; j < MAX_LENGTH; j++) {
+                if (puzzle[i][j] != 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
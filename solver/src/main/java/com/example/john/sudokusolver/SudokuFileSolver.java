@@ -0,0 +1,320 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.STATUS_SOLVED;
+
+/**
+ * <p>Solves a file of puzzles into a file of solutions</p>
+ * <p>Each line of the input is a puzzle of 81 characters, row by row: a digit 1-9, or '0' or '.'
+ * for an empty cell. Each line of the output is the solution of the puzzle on the same line of
+ * the input, with '.' for a cell whose digit is not certain. A blank line of the input is a
+ * blank line of the output, so that the lines stay in step</p>
+ * <p>The input is memory-mapped, and cut into batches of lines that the workers parse straight
+ * from the mapped bytes. Each worker thread keeps one {@link SudokuPuzzleSolver} and its buffers,
+ * and solves with {@link SudokuPuzzleSolver#solve(int[], int[])}. The batches are written in the
+ * order of the input</p>
+ */
+public class SudokuFileSolver {
+
+    /**
+     * The size of each mapping of the input. Its lines are whole, so a mapping may be shorter
+     */
+    private static final long MAP_BYTES = 1L << 30;
+    /**
+     * The approximate size of the input of each batch
+     */
+    private static final int BATCH_BYTES = 1 << 18;
+    private static final byte EMPTY = '.';
+
+    /**
+     * Counts of a run of {@link #solve(Path, Path)}
+     */
+    public static final class Report {
+        public final long puzzleCount;
+        public final long solvedCount;
+        public final long nanos;
+
+        Report(long puzzleCount, long solvedCount, long nanos) {
+            this.puzzleCount = puzzleCount;
+            this.solvedCount = solvedCount;
+            this.nanos = nanos;
+        }
+
+        public double getPuzzlesPerSecond() {
+            return nanos == 0 ? 0 : puzzleCount * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d puzzles, %d solved, in %.3f s (%.0f puzzles/s)",
+                    puzzleCount, solvedCount, nanos / 1e9, getPuzzlesPerSecond());
+        }
+    }
+
+    /**
+     * The solved lines of a batch
+     */
+    private static final class Batch {
+        final byte[] bytes;
+        int length;
+        int puzzleCount;
+        int solvedCount;
+
+        Batch(int capacity) {
+            bytes = new byte[capacity];
+        }
+    }
+
+    /**
+     * The solver and buffers of a worker thread
+     */
+    private static final class Worker {
+        final SudokuPuzzleSolver solver = new SudokuPuzzleSolver();
+        final int[] puzzle = new int[CELL_COUNT];
+        final int[] partialSolution = new int[CELL_COUNT];
+    }
+
+    private final Executor mExecutor;
+    /**
+     * The number of batches kept in flight
+     */
+    private final int mWindow;
+    private final ThreadLocal<Worker> mWorkers;
+
+    /**
+     * Solves on the common {@link ForkJoinPool}
+     */
+    public SudokuFileSolver(boolean guaranteedCompletion) {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(),
+                guaranteedCompletion);
+    }
+
+    /**
+     * @param parallelism The number of threads of executor
+     * @param guaranteedCompletion @see SudokuPuzzleSolver#setGuaranteedCompletion(boolean)
+     */
+    public SudokuFileSolver(Executor executor, int parallelism, final boolean guaranteedCompletion) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        mExecutor = executor;
+        mWindow = 2 * parallelism;
+        mWorkers = ThreadLocal.withInitial(() -> {
+            Worker worker = new Worker();
+            worker.solver.setGuaranteedCompletion(guaranteedCompletion);
+            return worker;
+        });
+    }
+
+    /**
+     * @param output Created, or else truncated
+     * @throws IOException if a file cannot be read or written, or a line of input is not a
+     * puzzle
+     */
+    public Report solve(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        long puzzleCount = 0;
+        long solvedCount = 0;
+        ArrayDeque<CompletableFuture<Batch>> inFlight = new ArrayDeque<>(mWindow);
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            long size = in.size();
+
+            for (long position = 0; position < size; ) {
+                long length = Math.min(MAP_BYTES, size - position);
+                MappedByteBuffer map = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = (int) length;
+
+                if (position + length < size) {
+                    end = nextLineStart(map, end - 1, -1);
+
+                    if (end <= 0) {
+                        throw new IOException("Line too long at byte " + position);
+                    }
+                }
+
+                for (int from = 0, to; from < end; from = to) {
+                    to = from + BATCH_BYTES < end ? nextLineStart(map, from + BATCH_BYTES, end) : end;
+                    inFlight.add(submit(map, position, from, to));
+
+                    if (inFlight.size() == mWindow) {
+                        Batch batch = write(out, inFlight.poll());
+                        puzzleCount += batch.puzzleCount;
+                        solvedCount += batch.solvedCount;
+                    }
+                }
+                position += end;
+            }
+
+            while (!inFlight.isEmpty()) {
+                Batch batch = write(out, inFlight.poll());
+                puzzleCount += batch.puzzleCount;
+                solvedCount += batch.solvedCount;
+            }
+        } finally {
+            // Let no batch outlive a failed run
+            for (CompletableFuture<Batch> future : inFlight) {
+                future.cancel(false);
+            }
+        }
+        return new Report(puzzleCount, solvedCount, System.nanoTime() - start);
+    }
+
+    /**
+     * @param index Scanning starts here, and goes forward if step is positive; otherwise backward
+     * @param step The end index to scan forward to, exclusive; or -1 to scan backward
+     * @return The index after the first '\n' found, or the end of the scan if there is none
+     */
+    private static int nextLineStart(ByteBuffer map, int index, int step) {
+        if (step < 0) {
+            for (; index >= 0; index--) {
+                if (map.get(index) == '\n') {
+                    return index + 1;
+                }
+            }
+            return 0;
+        }
+
+        for (; index < step; index++) {
+            if (map.get(index) == '\n') {
+                return index + 1;
+            }
+        }
+        return step;
+    }
+
+    private CompletableFuture<Batch> submit(final ByteBuffer map, final long position,
+                                            final int from, final int to) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return solveBatch(mWorkers.get(), map.duplicate(), position, from, to);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, mExecutor);
+    }
+
+    private static Batch write(FileChannel out, CompletableFuture<Batch> future) throws IOException {
+        Batch batch;
+
+        try {
+            batch = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(batch.bytes, 0, batch.length);
+
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        return batch;
+    }
+
+    /**
+     * Parses and solves the lines of map in [from, to)
+     * @param position The offset of map in the input, for reporting errors
+     */
+    private static Batch solveBatch(Worker worker, ByteBuffer map, long position, int from, int to)
+            throws IOException {
+        // A line is at least CELL_COUNT + 1 bytes, which is also the length of a solved line
+        Batch batch = new Batch(to - from + CELL_COUNT + 1);
+        int[] puzzle = worker.puzzle;
+        int[] partialSolution = worker.partialSolution;
+        byte[] bytes = batch.bytes;
+
+        for (int index = from, b; index < to; ) {
+            b = map.get(index);
+
+            if (b == '\n' || b == '\r') { // Blank line
+                index = skipLineEnding(map, index, to);
+                bytes[batch.length++] = '\n';
+                continue;
+            }
+
+            if (index + CELL_COUNT > to) {
+                throw new IOException("Short puzzle at byte " + (position + index));
+            }
+
+            for (int cell = 0; cell < CELL_COUNT; cell++, index++) {
+                b = map.get(index);
+
+                if (b >= '1' && b <= '9') {
+                    puzzle[cell] = b - '0';
+                } else if (b == '0' || b == EMPTY) {
+                    puzzle[cell] = 0;
+                } else {
+                    throw new IOException("Not a puzzle at byte " + (position + index));
+                }
+            }
+
+            if (index < to && map.get(index) != '\n' && map.get(index) != '\r') {
+                throw new IOException("Long puzzle at byte " + (position + index));
+            }
+            index = skipLineEnding(map, index, to);
+
+            int status = worker.solver.solve(puzzle, partialSolution);
+
+            for (int cell = 0, digit; cell < CELL_COUNT; cell++) {
+                digit = CandidateMask.certainDigit(partialSolution[cell]);
+                bytes[batch.length++] = digit == 0 ? EMPTY : (byte) ('0' + digit);
+            }
+            bytes[batch.length++] = '\n';
+
+            batch.puzzleCount++;
+            batch.solvedCount += (status & STATUS_SOLVED) != 0 ? 1 : 0;
+        }
+        return batch;
+    }
+
+    /**
+     * @return The index after the line ending at index, "\n" or "\r\n"; or index if there is none
+     */
+    private static int skipLineEnding(ByteBuffer map, int index, int to) {
+        if (index < to && map.get(index) == '\r') {
+            index++;
+        }
+
+        if (index < to && map.get(index) == '\n') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Solves the file args[0] into the file args[1], with guaranteed completion, and prints the
+     * report
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: SudokuFileSolver <puzzles> <solutions>");
+            System.exit(2);
+        }
+        Report report = new SudokuFileSolver(true).solve(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println(report);
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.MAX_LENGTH;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.STATUS_SOLVED;
+
+/**
+ * <p>Generates puzzles with a unique solution, in parallel, on a {@link ForkJoinPool} or a
+ * caller-supplied executor</p>
+ * <p>A puzzle starts as a completed grid. Its three boxes on the diagonal, which share no row or
+ * column, are filled at random, and the solver completes the rest. The grid is then transformed
+ * at random: its bands, stacks, the rows within each band and the columns within each stack are
+ * permuted, it may be transposed, and its digits are relabeled</p>
+ * <p>Then its clues are taken away in a random order, each one only if the puzzle stays unique
+ * without it. {@link SudokuPuzzleSolver} is the oracle: a clue may go unless the puzzle has a
+ * solution with another digit in its cell. So every clue left is needed</p>
+ * <p>The puzzles of a seed are numbered. A puzzle's random numbers come from the seed and its
+ * number alone, so it is the same whichever thread generates it, and however many there are</p>
+ * <p>Each worker thread keeps one {@link SudokuPuzzleSolver}, as a solver instance must not be
+ * shared between threads. Needs java.util.concurrent.CompletableFuture, so it is for the JVM;
+ * not for the app below API level 24</p>
+ */
+public class SudokuGenerator {
+
+    private static final int BAND_LENGTH = 3;
+    /**
+     * The increment of splitmix64, which spreads the seeds of consecutive puzzles
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    /**
+     * The puzzles generated at a time by {@link #main(String[])}
+     */
+    private static final int BLOCK_SIZE = 1 << 10;
+    private static final char EMPTY = '.';
+
+    /**
+     * The solver and buffers of a worker thread
+     */
+    private static final class Worker {
+        final SudokuPuzzleSolver solver = new SudokuPuzzleSolver();
+        final int[] grid = new int[CELL_COUNT];
+        final int[] puzzle = new int[CELL_COUNT];
+        final int[] cells = new int[CELL_COUNT];
+        final int[] rows = new int[MAX_LENGTH];
+        final int[] columns = new int[MAX_LENGTH];
+        /**
+         * A permutation of the digits, indexed by digit; labels[0] stays 0
+         */
+        final int[] labels = new int[MAX_LENGTH + 1];
+
+        Worker() {
+            solver.setGuaranteedCompletion(true);
+        }
+
+        /**
+         * @return The puzzle, indexed by cell
+         */
+        int[] generate(SplittableRandom random) {
+            fillGrid(random);
+            transformGrid(random);
+            removeClues(random);
+            return Arrays.copyOf(puzzle, CELL_COUNT);
+        }
+
+        /**
+         * Completes grid from its boxes on the diagonal, filled at random
+         */
+        private void fillGrid(SplittableRandom random) {
+            Arrays.fill(puzzle, 0);
+
+            for (int box = 0; box < BAND_LENGTH; box++) {
+                shuffleLabels(random);
+
+                for (int i = 0; i < MAX_LENGTH; i++) {
+                    int row = box * BAND_LENGTH + i / BAND_LENGTH;
+                    int column = box * BAND_LENGTH + i % BAND_LENGTH;
+                    puzzle[row * MAX_LENGTH + column] = labels[i + 1];
+                }
+            }
+
+            if ((solver.solve(puzzle, grid) & STATUS_SOLVED) == 0) {
+                throw new IllegalStateException("The boxes on the diagonal were not completed");
+            }
+
+            for (int cell = 0; cell < CELL_COUNT; cell++) {
+                grid[cell] = CandidateMask.certainDigit(grid[cell]);
+            }
+        }
+
+        /**
+         * Transforms grid into puzzle
+         */
+        private void transformGrid(SplittableRandom random) {
+            permuteLines(rows, random);
+            permuteLines(columns, random);
+            shuffleLabels(random);
+            boolean isTransposed = random.nextBoolean();
+
+            for (int cell = 0; cell < CELL_COUNT; cell++) {
+                int source = rows[cell / MAX_LENGTH] * MAX_LENGTH + columns[cell % MAX_LENGTH];
+
+                if (isTransposed) {
+                    source = source % MAX_LENGTH * MAX_LENGTH + source / MAX_LENGTH;
+                }
+                puzzle[cell] = labels[grid[source]];
+            }
+        }
+
+        /**
+         * Takes away each clue of puzzle in a random order, unless the puzzle would then have
+         * another solution
+         */
+        private void removeClues(SplittableRandom random) {
+            for (int cell = 0; cell < CELL_COUNT; cell++) {
+                cells[cell] = cell;
+            }
+            shuffle(cells, 0, CELL_COUNT, random);
+
+            for (int cell : cells) {
+                int digit = puzzle[cell];
+                puzzle[cell] = 0;
+
+                if (solver.hasSolutionWithout(puzzle, cell, digit)) {
+                    puzzle[cell] = digit;
+                }
+            }
+        }
+
+        private void shuffleLabels(SplittableRandom random) {
+            for (int digit = 1; digit <= MAX_LENGTH; digit++) {
+                labels[digit] = digit;
+            }
+            shuffle(labels, 1, MAX_LENGTH, random);
+        }
+    }
+
+    private final Executor mExecutor;
+    private final long mSeed;
+    private final ThreadLocal<Worker> mWorkers = ThreadLocal.withInitial(Worker::new);
+
+    /**
+     * Generates on the common {@link ForkJoinPool}
+     */
+    public SudokuGenerator(long seed) {
+        this(ForkJoinPool.commonPool(), seed);
+    }
+
+    public SudokuGenerator(Executor executor, long seed) {
+        mExecutor = executor;
+        mSeed = seed;
+    }
+
+    /**
+     * Generates on the calling thread
+     * @param index The number of the puzzle, of those of the seed
+     * @return A MAX_LENGTH by MAX_LENGTH array containing the digits 1-9 of the puzzle, and 0
+     * for an empty cell
+     */
+    public int[][] generate(long index) {
+        int[] puzzle = mWorkers.get().generate(new SplittableRandom(mix(mSeed + GOLDEN_GAMMA * index)));
+        int[][] rows = new int[MAX_LENGTH][MAX_LENGTH];
+
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            System.arraycopy(puzzle, i * MAX_LENGTH, rows[i], 0, MAX_LENGTH);
+        }
+        return rows;
+    }
+
+    /**
+     * Generates the puzzles numbered first to first + count - 1 in parallel
+     * @return The puzzles, in order
+     * @see #generate(long)
+     */
+    public List<int[][]> generateAll(long first, int count) {
+        List<CompletableFuture<int[][]>> futures = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            final long index = first + i;
+            futures.add(CompletableFuture.supplyAsync(() -> generate(index), mExecutor));
+        }
+
+        List<int[][]> puzzles = new ArrayList<>(count);
+
+        for (CompletableFuture<int[][]> future : futures) {
+            puzzles.add(future.join());
+        }
+        return puzzles;
+    }
+
+    /**
+     * A random permutation of the rows, or of the columns, that keeps the bands, or the stacks,
+     * together
+     * @param lines Receives the line of the grid at each line of the permutation
+     */
+    private static void permuteLines(int[] lines, SplittableRandom random) {
+        for (int line = 0; line < MAX_LENGTH; line++) {
+            lines[line] = line;
+        }
+
+        // The bands, then the lines within each band
+        for (int band = BAND_LENGTH - 1, other; band > 0; band--) {
+            other = random.nextInt(band + 1);
+
+            for (int i = 0; i < BAND_LENGTH; i++) {
+                swap(lines, band * BAND_LENGTH + i, other * BAND_LENGTH + i);
+            }
+        }
+
+        for (int band = 0; band < BAND_LENGTH; band++) {
+            shuffle(lines, band * BAND_LENGTH, BAND_LENGTH, random);
+        }
+    }
+
+    /**
+     * Fisher-Yates shuffle of the length elements of array from offset
+     */
+    private static void shuffle(int[] array, int offset, int length, SplittableRandom random) {
+        for (int i = length - 1; i > 0; i--) {
+            swap(array, offset + i, offset + random.nextInt(i + 1));
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int element = array[i];
+        array[i] = array[j];
+        array[j] = element;
+    }
+
+    /**
+     * The finalizer of splitmix64
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Generates args[0] puzzles of the seed args[1] into the file args[2], one per line as read
+     * by {@link SudokuFileSolver}, and prints the rate
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("usage: SudokuGenerator <count> <seed> <puzzles>");
+            System.exit(2);
+        }
+        long count = Long.parseLong(args[0]);
+        SudokuGenerator generator = new SudokuGenerator(Long.parseLong(args[1]));
+        long time = System.nanoTime();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(args[2]),
+                StandardCharsets.US_ASCII)) {
+            char[] line = new char[CELL_COUNT];
+
+            for (long first = 0; first < count; first += BLOCK_SIZE) {
+                for (int[][] puzzle : generator.generateAll(first, (int) Math.min(BLOCK_SIZE, count - first))) {
+                    for (int cell = 0, digit; cell < CELL_COUNT; cell++) {
+                        digit = puzzle[cell / MAX_LENGTH][cell % MAX_LENGTH];
+                        line[cell] = digit == 0 ? EMPTY : (char) ('0' + digit);
+                    }
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        }
+        long nanos = System.nanoTime() - time;
+        System.out.println(String.format(Locale.US, "%d puzzles in %.3f s (%.0f puzzles/s)",
+                count, nanos / 1e9, nanos == 0 ? 0 : count * 1e9 / nanos));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import java.util.Locale;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.COLUMN;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.GRID;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.ROW;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.UNIT_TYPES;
+
+/**
+ * <p>The units of a Sudoku puzzle whose boxes are boxRows by boxColumns cells; eg. 3 by 3 for the
+ * classic 9x9 puzzle, 4 by 4 for 16x16 and 5 by 5 for 25x25</p>
+ * <p>The puzzle has size = boxRows * boxColumns digits, rows, columns and boxes. The unit of a
+ * slice is type * size + slice, where type is one of {@link SudokuPuzzleSolver#GRID},
+ * {@link SudokuPuzzleSolver#ROW}, {@link SudokuPuzzleSolver#COLUMN}; the boxes are numbered
+ * across, then down</p>
+ */
+public final class SudokuGeometry {
+
+    /**
+     * The largest size supported, as the digits of a cell are the bits of a long
+     */
+    public static final int MAX_SIZE = Long.SIZE;
+
+    /**
+     * The classic 9x9 puzzle
+     */
+    public static final SudokuGeometry CLASSIC = new SudokuGeometry(3, 3);
+
+    public final int boxRows;
+    public final int boxColumns;
+    /**
+     * The number of digits, and of cells of each unit
+     */
+    public final int size;
+    public final int cellCount;
+    public final int unitCount;
+
+    /**
+     * The cells of each unit, indexed by unit * size + element
+     */
+    final int[] unitCells;
+    /**
+     * The units containing each cell, indexed by cell * UNIT_TYPES + type
+     */
+    final int[] cellUnits;
+    /**
+     * The element of each cell within each of its units, indexed by cell * UNIT_TYPES + type
+     */
+    final int[] cellElements;
+
+    /**
+     * @throws IllegalArgumentException if a box dimension is less than 1, or the puzzle would
+     * have more than {@link #MAX_SIZE} digits
+     */
+    public SudokuGeometry(int boxRows, int boxColumns) {
+        if (boxRows < 1 || boxColumns < 1 || boxRows * boxColumns > MAX_SIZE) {
+            throw new IllegalArgumentException(String.format(Locale.US,
+                    "Unsupported box of %d by %d cells", boxRows, boxColumns));
+        }
+        this.boxRows = boxRows;
+        this.boxColumns = boxColumns;
+        size = boxRows * boxColumns;
+        cellCount = size * size;
+        unitCount = UNIT_TYPES * size;
+
+        unitCells = new int[unitCount * size];
+        cellUnits = new int[cellCount * UNIT_TYPES];
+        cellElements = new int[cellCount * UNIT_TYPES];
+
+        for (int slice = 0; slice < size; slice++) {
+            for (int element = 0; element < size; element++) {
+                // There are boxRows boxes across, and boxColumns boxes down
+                unitCells[(GRID * size + slice) * size + element] =
+                        (boxRows * (slice / boxRows) + element / boxColumns) * size
+                        + boxColumns * (slice % boxRows) + element % boxColumns;
+                unitCells[(ROW * size + slice) * size + element] = slice * size + element;
+                unitCells[(COLUMN * size + slice) * size + element] = element * size + slice;
+            }
+        }
+
+        for (int unit = 0; unit < unitCount; unit++) {
+            for (int element = 0; element < size; element++) {
+                int k = unitCells[unit * size + element] * UNIT_TYPES + unit / size;
+                cellUnits[k] = unit;
+                cellElements[k] = element;
+            }
+        }
+    }
+
+    /**
+     * @return The mask of every digit
+     */
+    public long allDigits() {
+        return size == MAX_SIZE ? -1L : (1L << size) - 1;
+    }
+
+    /**
+     * @return The cell of the unit's element
+     */
+    public int getCell(int unit, int element) {
+        return unitCells[unit * size + element];
+    }
+
+    /**
+     * @param type one of {@link SudokuPuzzleSolver#GRID}, {@link SudokuPuzzleSolver#ROW},
+     *             {@link SudokuPuzzleSolver#COLUMN}
+     * @return The unit of the given type containing the cell
+     */
+    public int getUnit(int cell, int type) {
+        return cellUnits[cell * UNIT_TYPES + type];
+    }
+}
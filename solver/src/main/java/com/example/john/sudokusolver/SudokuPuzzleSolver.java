@@ -0,0 +1,1793 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Contains the logic to solve Sudoku puzzles
+ */
+
+public class SudokuPuzzleSolver implements SudokuSolverEngine {
+
+    /**
+     * <p>Walks the units of a single type; ie. the slices of {@link #GRID}, {@link #ROW} or
+     * {@link #COLUMN}. The cell of the current coordinate is read from {@link #UNIT_CELLS}</p>
+     * <p>The partitions walked are those of the solver's partition index, shared by all units.
+     * The iterator only holds the position</p>
+     */
+    final class SudokuIterator {
+
+        /**
+         * The unit of slice 0 for this iterator's type
+         */
+        private final int mUnitOffset;
+        /**
+         * Index into {@link #UNIT_CELLS} of element 0 of the current slice, and into the
+         * partition index of slot 0 of the current slice
+         */
+        private int mUnitBase;
+        /**
+         * The slot of the current partition
+         */
+        private int mSlot;
+        int slice, element, cell;
+
+        SudokuIterator(int type) {
+            mUnitOffset = type * MAX_LENGTH;
+        }
+
+        public boolean nextSlice() {
+            if (++slice < MAX_LENGTH) {
+                mUnitBase = (mUnitOffset + slice) * MAX_LENGTH;
+                return true;
+            }
+            return false;
+        }
+
+        public boolean nextElement() {
+            if ( ++element < MAX_LENGTH) {
+                computeCoordinate();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * <p>Moves to the next partition of the slice, and resets element to precede its first
+         * element</p>
+         * @return a return value of true implies a call to nextPartitionElement() should be made
+         * to get the first element of the partition
+         */
+        boolean nextPartition() {
+            element = -1;
+            return ++mSlot < mPartitionCounts[mUnitOffset + slice];
+        }
+
+        /**
+         * Moves element to the next element of the partition. Writing over the partition does not
+         * disturb the iteration
+         */
+        boolean nextPartitionElement() {
+            int remaining = mPartitionElements[mUnitBase + mSlot] & (-1 << (element + 1));
+
+            if (remaining == 0) {
+                return false;
+            }
+            element = Integer.numberOfTrailingZeros(remaining);
+            computeCoordinate();
+            return true;
+        }
+
+        /**
+         *
+         * @return the value of the current partition; incidentally, it is the value of the
+         * bitwise 'or' of all of its elements.
+         */
+        int getPartitionValue() {
+            return mPartitionValues[mUnitBase + mSlot];
+        }
+
+        /**
+         * Replaces the value of the current partition
+         */
+        void setPartitionValue(int value) {
+            int valueBase = (mUnitOffset + slice) * VALUE_COUNT;
+
+            mSlotsByValue[valueBase + mPartitionValues[mUnitBase + mSlot]] = 0;
+            mPartitionValues[mUnitBase + mSlot] = value;
+            mSlotsByValue[valueBase + value] = mSlot + 1;
+        }
+
+        /**
+         * update cell based on slice and element
+         */
+        void computeCoordinate() {
+            cell = UNIT_CELLS[mUnitBase + element];
+        }
+
+        void resetSlice() {
+            slice = -1;
+        }
+
+        /**
+         * Moves to the slice directly, as if by calls to nextSlice()
+         */
+        void setSlice(int slice) {
+            this.slice = slice;
+            mUnitBase = (mUnitOffset + slice) * MAX_LENGTH;
+        }
+
+        void resetElement() {
+            element = -1;
+        }
+
+        /**
+         * Precedes the first partition of the slice
+         */
+        void resetPartition() {
+            mSlot = -1;
+            element = -1;
+        }
+
+        int getPartitionSize() {
+            return Integer.bitCount(mPartitionElements[mUnitBase + mSlot]);
+        }
+
+        /**
+         * <p>Modifies element to precede the first element of the partition</p>
+         * @param value the value of the partition
+         * @return true iff the slice has a partition with the value
+         */
+        boolean resetPartition(int value) {
+            mSlot = mSlotsByValue[(mUnitOffset + slice) * VALUE_COUNT + value] - 1;
+            element = -1;
+            return mSlot >= 0;
+        }
+
+        /**
+         * Splits the current partition in two
+         * @param augElements the elements, as bits, that form the partition of value augValue.
+         *                    The remaining elements form the partition of value altValue
+         */
+        void splitPartition(int augElements, int augValue, int altValue) {
+            SudokuPuzzleSolver.this.splitPartition(mUnitOffset + slice, mSlot, augElements,
+                    augValue, altValue);
+        }
+    }
+
+    /**
+     * A class to store the solution and its metaData
+     * @see #solve(int[][])
+     */
+    public static class SudokuPuzzleSolution {
+        public final boolean isSolved;
+        /**
+         * True iff the deductions stalled and the solver had to branch on a cell to finish
+         * @see #setGuaranteedCompletion(boolean)
+         */
+        public final boolean requiredSearch;
+        /**
+         * True iff the solve ran out of its budget, and stopped short of all deductions
+         * @see #solve(int[][], SolveBudget)
+         */
+        public final boolean budgetExceeded;
+        /**
+         * <p>The candidate mask of each cell, indexed by cell</p>
+         * <p>Invariant: a mask with exactly 1 digit is either a solved digit or an original
+         * digit in the puzzle</p>
+         * @see CandidateMask
+         */
+        private final int[] partialSolution;
+        private final SolverStats stats;
+        private final DifficultyRating difficulty;
+        private int[][] partialSolutionSolvedDigits;
+
+        /**
+         * @param partialSolution Indexed by cell; ie. row * MAX_LENGTH + column
+         */
+        public SudokuPuzzleSolution(boolean isSolved, int[] partialSolution) {
+            this(isSolved, false, partialSolution);
+        }
+
+        /**
+         * @param partialSolution Indexed by cell; ie. row * MAX_LENGTH + column
+         */
+        public SudokuPuzzleSolution(boolean isSolved, boolean requiredSearch, int[] partialSolution) {
+            this(isSolved, requiredSearch, partialSolution, null);
+        }
+
+        /**
+         * @param partialSolution Indexed by cell; ie. row * MAX_LENGTH + column
+         * @param stats The counts of the solve, or null if they were not collected
+         */
+        public SudokuPuzzleSolution(boolean isSolved, boolean requiredSearch, int[] partialSolution,
+                                    SolverStats stats) {
+            this(isSolved, requiredSearch, partialSolution, stats, null);
+        }
+
+        /**
+         * @param partialSolution Indexed by cell; ie. row * MAX_LENGTH + column
+         * @param stats The counts of the solve, or null if they were not collected
+         * @param difficulty The rating of the puzzle, or null if the engine does not rate
+         */
+        public SudokuPuzzleSolution(boolean isSolved, boolean requiredSearch, int[] partialSolution,
+                                    SolverStats stats, DifficultyRating difficulty) {
+            this(isSolved, requiredSearch, false, partialSolution, stats, difficulty);
+        }
+
+        /**
+         * @param partialSolution Indexed by cell; ie. row * MAX_LENGTH + column
+         * @param stats The counts of the solve, or null if they were not collected
+         * @param difficulty The rating of the puzzle, or null if the engine does not rate
+         */
+        public SudokuPuzzleSolution(boolean isSolved, boolean requiredSearch, boolean budgetExceeded,
+                                    int[] partialSolution, SolverStats stats,
+                                    DifficultyRating difficulty) {
+            this.isSolved = isSolved;
+            this.requiredSearch = requiredSearch;
+            this.budgetExceeded = budgetExceeded;
+            this.partialSolution = partialSolution;
+            this.stats = stats;
+            this.difficulty = difficulty;
+        }
+
+        /**
+         * @return The counts of the solve, or null unless the solver collected them
+         * @see #setCollectStats(boolean)
+         */
+        public SolverStats getStats() {
+            return stats;
+        }
+
+        /**
+         * @return The difficulty of the puzzle, rated from the work of the solve; or null if the
+         * engine does not rate puzzles
+         * @see SudokuPuzzleSolver#getDifficulty()
+         */
+        public DifficultyRating getDifficulty() {
+            return difficulty;
+        }
+
+        public int[][] getPartialSolutionSolvedDigits() {
+            if (partialSolutionSolvedDigits == null) {
+                partialSolutionSolvedDigits = new int[MAX_LENGTH][MAX_LENGTH];
+
+                for (int i = 0, cell = 0; i < MAX_LENGTH; i++) {
+                    for (int j = 0; j < MAX_LENGTH; j++, cell++) {
+                        partialSolutionSolvedDigits[i][j] =
+                        CandidateMask.certainDigit(partialSolution[cell]);
+                    }
+                }
+            }
+            return partialSolutionSolvedDigits;
+        }
+
+        /**
+         * @return The candidate mask of the cell
+         * @see CandidateMask
+         */
+        public int getCandidates(int row, int column) {
+            return partialSolution[row * MAX_LENGTH + column];
+        }
+
+        /**
+         * @return The digit of the cell if it is certain; otherwise 0
+         */
+        public int getCertainDigit(int row, int column) {
+            return CandidateMask.certainDigit(partialSolution[row * MAX_LENGTH + column]);
+        }
+
+        /**
+         * @param destination Receives the candidate mask of each cell, indexed by cell
+         */
+        public void copyCandidates(int[] destination) {
+            System.arraycopy(partialSolution, 0, destination, 0, CELL_COUNT);
+        }
+    }
+
+    /**
+     * <p>Searches a partition for a smaller, self-contained partition; ie. a subset of its cells
+     * whose digits number the same as the cells. A global instance of this will suffice for all of
+     * the searches of the Sudoku puzzle solving algorithm</p>
+     * <p>The search is a depth first enumeration of subsets of the partition's elements, held as
+     * bits. A subset is only grown by a cell that shares a digit with it, and is abandoned once
+     * its digits are all of the partition's digits (saturated), or once too few elements remain
+     * to close the gap between its digits and its cells (Hall's condition)</p>
+     */
+    private class SearchHelper {
+        /**
+         * The digits of each cell of the partition, in element order
+         */
+        private final int[] cells = new int[MAX_LENGTH];
+        /**
+         * The element of each cell of the partition
+         */
+        private final int[] elements = new int[MAX_LENGTH];
+        /**
+         * The index into cells chosen at each depth of the search
+         */
+        private final int[] path = new int[MAX_LENGTH];
+        /**
+         * unions[depth] is the value of the cells chosen at depths [0, depth)
+         */
+        private final int[] unions = new int[MAX_LENGTH + 1];
+        private int cellCount;
+        private int size = 0;
+        private int partitionValue;
+        private int partitionSize;
+        private boolean isSuccess;
+        /**
+         * The subsets visited by the last search
+         */
+        private int nodeCount;
+
+        void reset() {
+            cellCount = 0;
+            size = 0;
+            isSuccess = false;
+        }
+
+        void setPartitionValue(int val) {
+            partitionValue = val;
+            partitionSize = CandidateMask.size(val);
+        }
+
+        int getPartitionValue() {
+            return partitionValue;
+        }
+
+        int getPartitionSize() {
+            return partitionSize;
+        }
+
+        /**
+         * <p>Loads the cells of the current partition of it</p>
+         * <p>Precondition: it.resetPartition(getPartitionValue()) == true</p>
+         */
+        void load(SudokuIterator it) {
+            while (it.nextPartitionElement()) {
+                cells[cellCount] = mPartiallySolvedPuzzle[it.cell];
+                elements[cellCount++] = it.element;
+            }
+        }
+
+        /**
+         * Use to help update state after a successful search
+         */
+        int getSizeAug() {
+            return size;
+        }
+
+        /**
+         * Use to help update state after a successful search
+         */
+        int getSizeAlt() {
+            return partitionSize - size;
+        }
+
+        /**
+         * Use to help update state after a successful search
+         */
+        int getValAug() {
+            return unions[size];
+        }
+
+        /**
+         * Use to help update state after a successful search
+         */
+        int getValAlt() {
+            return partitionValue & ~getValAug();
+        }
+
+        /**
+         * Use to help update state after a successful search
+         * @return The elements, as bits, of the partition found by augmentation
+         */
+        int getAugElements() {
+            int augElements = 0;
+
+            for (int depth = 0; depth < size; depth++) {
+                augElements |= 1 << elements[path[depth]];
+            }
+            return augElements;
+        }
+
+        boolean isSearchSuccess() {
+            return isSuccess;
+        }
+
+        int getNodeCount() {
+            return nodeCount;
+        }
+
+        /**
+         * <p>Precondition: {@link #load(SudokuIterator)}</p>
+         * <p>Subsets are visited in the order of the elements, so the first self-contained subset
+         * found is the same as that of a recursive search</p>
+         * @return true iff a positive search outcome
+         */
+        boolean search() {
+            int depth = 0;
+            int index = 0; // The next cell to try at depth
+            int union, length;
+            int nodes = 0;
+            unions[0] = 0;
+
+            while (true) {
+                if (index == cellCount) { // Exhausted; undo the choice at the previous depth
+                    if (depth == 0) {
+                        nodeCount = nodes;
+                        return isSuccess = false;
+                    }
+                    index = path[--depth] + 1;
+                    continue;
+                }
+
+                if (depth > 0 && (cells[index] & unions[depth]) == 0) { // Empty intersection
+                    index++;
+                    continue;
+                }
+                union = unions[depth] | cells[index];
+                length = Integer.bitCount(union);
+
+                if (length == partitionSize) { // Saturated. This is equivalent to a negative outcome
+                    index++;
+                    continue;
+                }
+                path[depth] = index;
+                unions[depth + 1] = union;
+                nodes++;
+
+                if (length == depth + 1) { // Self-contained partition of smaller size
+                    size = depth + 1;
+                    nodeCount = nodes;
+                    return isSuccess = true;
+                }
+
+                if (length - (depth + 1) > cellCount - 1 - index) { // Too few cells left to close the gap
+                    index++;
+                    continue;
+                }
+                depth++;
+                index++;
+            }
+        }
+    }
+
+    /**
+     * <p>A queue of partition values with a fixed capacity, to which values may also be added at
+     * the front</p>
+     * <p>The values queued for a slice belong to disjoint partitions of more than one cell, so no
+     * more than MAX_LENGTH / 2 are queued at once</p>
+     */
+    private static final class PartitionQueue {
+        private final int[] values = new int[MAX_LENGTH];
+        private int head;
+        private int count;
+
+        void clear() {
+            head = count = 0;
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        int size() {
+            return count;
+        }
+
+        void add(int value) {
+            values[(head + count++) % MAX_LENGTH] = value;
+        }
+
+        void addFirst(int value) {
+            head = (head + MAX_LENGTH - 1) % MAX_LENGTH;
+            values[head] = value;
+            count++;
+        }
+
+        /**
+         * <p>Precondition: !isEmpty()</p>
+         * @return the value at the head of the queue, which is removed
+         */
+        int poll() {
+            int value = values[head];
+            head = (head + 1) % MAX_LENGTH;
+            count--;
+            return value;
+        }
+    }
+
+    static final int[] VALUE = {0, 1, 1 << 1, 1 << 2, 1 << 3, 1 << 4, 1 << 5, 1 << 6, 1 << 7, 1 << 8};
+    static final int ALL_DIGITS = 0b111111111;
+    /**
+     * The number of distinct values of a candidate mask
+     */
+    static final int VALUE_COUNT = ALL_DIGITS + 1;
+    static final int MAX_LENGTH = 9;
+    static final int CELL_COUNT = MAX_LENGTH * MAX_LENGTH;
+    static final int GRID    = 0;
+    static final int ROW     = 1;
+    static final int COLUMN  = 2;
+    static final int UNIT_TYPES = 3;
+    static final int UNIT_COUNT = UNIT_TYPES * MAX_LENGTH;
+    /**
+     * Status flag of {@link #solve(int[], int[])}: every cell has a single digit
+     */
+    public static final int STATUS_SOLVED = 1;
+    /**
+     * Status flag of {@link #solve(int[], int[])}
+     * @see SudokuPuzzleSolution#requiredSearch
+     */
+    public static final int STATUS_REQUIRED_SEARCH = 1 << 1;
+    /**
+     * Status flag of {@link #solve(int[], int[], SolveBudget)}
+     * @see SudokuPuzzleSolution#budgetExceeded
+     */
+    public static final int STATUS_BUDGET_EXCEEDED = 1 << 2;
+    // What is kept of the deductions of the last solve, for solveEdit
+    /**
+     * Nothing; the next edit makes all deductions from the givens
+     */
+    private static final int RETAINED_NONE = 0;
+    /**
+     * mPartiallySolvedPuzzle and the partition index are those of all deductions
+     */
+    private static final int RETAINED_INDEX = 1;
+    /**
+     * The candidate masks of all deductions are the first snapshot of the completion search
+     */
+    private static final int RETAINED_SNAPSHOT = 2;
+
+    /**
+     * <p>The cells of each unit, indexed by unit * MAX_LENGTH + element</p>
+     * <p>The unit of a slice is type * MAX_LENGTH + slice, where type is one of {@link #GRID},
+     * {@link #ROW}, {@link #COLUMN}</p>
+     * @see SudokuGeometry#CLASSIC
+     */
+    static final int[] UNIT_CELLS = SudokuGeometry.CLASSIC.unitCells;
+    /**
+     * The units containing each cell, indexed by cell * UNIT_TYPES + type
+     */
+    static final int[] CELL_UNITS = SudokuGeometry.CLASSIC.cellUnits;
+    /**
+     * The element of each cell within each of its units, indexed by cell * UNIT_TYPES + type
+     */
+    static final int[] CELL_ELEMENTS = SudokuGeometry.CLASSIC.cellElements;
+    // The state of the puzzle is allocated once, and reset by each solve, so that an instance
+    // solves puzzle after puzzle without allocating
+    /**
+     * Indexed by cell
+     */
+    private final int[] mPuzzle = new int[CELL_COUNT];
+    /**
+     * Indexed by cell
+     */
+    private final int[] mPartiallySolvedPuzzle = new int[CELL_COUNT];
+    // The partition index, shared by the units of every type. A partition occupies a slot of its
+    // unit, holding its value and the bit set of its elements, so that its size is the bit count.
+    // The index is updated in place when a partition is split
+    /**
+     * The elements of each partition, as bits; indexed by unit * MAX_LENGTH + slot
+     */
+    private final int[] mPartitionElements = new int[UNIT_COUNT * MAX_LENGTH];
+    /**
+     * The value of each partition; indexed by unit * MAX_LENGTH + slot
+     */
+    private final int[] mPartitionValues = new int[UNIT_COUNT * MAX_LENGTH];
+    /**
+     * The slot of the partition of each element; indexed by unit * MAX_LENGTH + element
+     */
+    private final int[] mPartitionSlots = new int[UNIT_COUNT * MAX_LENGTH];
+    /**
+     * The number of partitions of each unit
+     */
+    private final int[] mPartitionCounts = new int[UNIT_COUNT];
+    /**
+     * slot + 1 of the partition with a given value, or 0 if no partition has the value;
+     * indexed by unit * VALUE_COUNT + value
+     */
+    private final int[] mSlotsByValue = new int[UNIT_COUNT * VALUE_COUNT];
+    /**
+     * A stack of the cells that became certain, and are yet to be split from the partitions of
+     * their units
+     */
+    private final int[] mCertainCells = new int[CELL_COUNT];
+    private int mCertainCellCount;
+    /**
+     * The value of each element of a unit, while its partitions are grouped
+     */
+    private final int[] mElementValues = new int[MAX_LENGTH];
+
+    private final SudokuIterator gridIterator = new SudokuIterator(GRID);
+    private final SudokuIterator rowIterator = new SudokuIterator(ROW);
+    private final SudokuIterator columnIterator = new SudokuIterator(COLUMN);
+    /**
+     * The iterators, indexed by type
+     */
+    private final SudokuIterator[] mIterators = { gridIterator, rowIterator, columnIterator };
+    private final SearchHelper searchHelper = new SearchHelper();
+    /**
+     * Used by makeGeneralDeductions to keep track of newly formed partitions
+     */
+    private final PartitionQueue mPartitionQueue = new PartitionQueue();
+    /**
+     * Set when the deductions find a partition with fewer digits than cells, which stops them
+     */
+    private boolean mIsInconsistent;
+    private boolean mGuaranteedCompletion;
+    private SolverLogger mLogger = SolverLogger.STANDARD_ERROR;
+    /**
+     * The counts of the current solve, or null when they are not collected. Every count is
+     * behind a null check of this, which the JIT compiles out while it stays null
+     */
+    private SolverStats mStats;
+    /**
+     * Copies of mPartiallySolvedPuzzle, one per level of the completion search, indexed by
+     * depth * CELL_COUNT + cell. A level fills at least one cell, so there are no more than
+     * CELL_COUNT levels
+     */
+    private final int[] mSnapshots = new int[CELL_COUNT * CELL_COUNT];
+    /**
+     * The solutions found so far by countSolutions
+     */
+    private int mSolutionCount;
+    // The trace of a solve, from which the puzzle is rated. Kept whether or not stats are
+    // collected, as it costs a few additions per split
+    /**
+     * The rounds of makeGeneralDeductions, each working on the units queued when it began
+     */
+    private int mDeductionRounds;
+    /**
+     * The smaller part of the hardest split by shrinkPartitions, and the sum of the squares of
+     * the smaller parts
+     */
+    private int mHardestSplit, mSplitWeight;
+    private boolean mDeductionsStalled;
+    /**
+     * The deepest choice of completeBySearch, and the choices it undid
+     */
+    private int mSearchDepth, mBacktracks;
+    /**
+     * The budget of the current solve, or null if it has none. Checked between units and between
+     * branches, behind a null check as the stats are
+     */
+    private SolveBudget mBudget;
+    /**
+     * The budget of the solves that are not given one, or null
+     */
+    private SolveBudget mDefaultBudget;
+    private long mBudgetStart;
+    /**
+     * The search nodes and branches of the current solve, for its budget
+     */
+    private long mSpentNodes;
+    private boolean mIsBudgetExceeded;
+    /**
+     * One of RETAINED_NONE, RETAINED_INDEX and RETAINED_SNAPSHOT
+     */
+    private int mRetainedDeductions;
+    /**
+     * A circular queue of the units to be worked on by makeGeneralDeductions
+     */
+    private final int[] mScheduledUnits = new int[UNIT_COUNT];
+    private int mScheduledUnitHead;
+    private int mScheduledUnitCount;
+    /**
+     * Bit (unit) is set iff the unit is in mScheduledUnits
+     */
+    private int mScheduledUnitFlags;
+
+    public SudokuPuzzleSolver() {
+    }
+
+    /**
+     * @param guaranteedCompletion When true, a puzzle whose deductions stall is finished by
+     *                             branching on the cell with the fewest digits, making all
+     *                             deductions again at each branch. Defaults to false
+     * @see SudokuPuzzleSolution#requiredSearch
+     */
+    public void setGuaranteedCompletion(boolean guaranteedCompletion) {
+        mGuaranteedCompletion = guaranteedCompletion;
+    }
+
+    /**
+     * @param logger Receives the internal errors of the solver. Defaults to
+     *               {@link SolverLogger#STANDARD_ERROR}
+     */
+    public void setLogger(SolverLogger logger) {
+        mLogger = logger;
+    }
+
+    /**
+     * @param collectStats When true, each solve counts its work into {@link #getStats()}, and
+     *                     {@link SudokuPuzzleSolution#getStats()} has a copy. Defaults to false
+     */
+    public void setCollectStats(boolean collectStats) {
+        mStats = collectStats ? (mStats != null ? mStats : new SolverStats()) : null;
+    }
+
+    /**
+     * @param budget The budget of every solve that is not given one, including those of
+     *               {@link #solveEdit(int, int, int[])}; or null for none, the default. eg.
+     *               {@code SolveBudget.UNLIMITED.stoppingOnInterrupt()} lets a solve on a worker
+     *               thread be cancelled
+     * @see #solve(int[], int[], SolveBudget)
+     */
+    public void setDefaultBudget(SolveBudget budget) {
+        mDefaultBudget = budget;
+    }
+
+    /**
+     * @return The counts of the last solve, overwritten by the next; or null unless collected
+     * @see #setCollectStats(boolean)
+     */
+    public SolverStats getStats() {
+        return mStats;
+    }
+
+    /**
+     * <p>Rates the puzzle of the last solve from the trace the solve kept, so that the rating
+     * costs no second pass</p>
+     * <p>The rounds and splits are those of the deductions before any completion search; the
+     * search is counted by its depth and the choices it undid</p>
+     * @return The rating of the puzzle of the last solve. A later countSolutions leaves the
+     * trace of its own search in place of it
+     */
+    public DifficultyRating getDifficulty() {
+        return new DifficultyRating(mDeductionRounds, mHardestSplit, mSplitWeight,
+                mDeductionsStalled, mSearchDepth, mBacktracks);
+    }
+
+    void printPartialSolution() {
+        printPartialSolution("0.000", "-");
+    }
+
+    void printPartialSolution(String decimalPattern, String negativePrefix) {
+        float[][] printPuzzle = fetchPrintablePuzzle();
+
+        DecimalFormat decimalFormat = new DecimalFormat(decimalPattern);
+        decimalFormat.setPositivePrefix(" ");
+        decimalFormat.setNegativePrefix(negativePrefix);
+
+        for (float[] slice : printPuzzle) {
+            for (float v : slice) {
+                System.out.printf("%s ", decimalFormat.format(v));
+            }
+            System.out.println();
+        }
+    }
+
+    float[][] fetchPrintablePuzzle() {
+        float[][] A = new float[MAX_LENGTH][MAX_LENGTH];
+
+        for (int i = 0, cell = 0; i < MAX_LENGTH; i++) {
+            for (int j = 0; j < MAX_LENGTH; j++, cell++) {
+                A[i][j] = mPuzzle[cell] != 0 ? -mPuzzle[cell]
+                        : getDigit(mPartiallySolvedPuzzle[cell]);
+            }
+        }
+        return A;
+    }
+
+    void initializePuzzle(int[][] puzzle) {
+
+        // Copy puzzle
+        for (int i = 0; i < puzzle.length; i++) {
+            System.arraycopy(puzzle[i], 0, mPuzzle, i * MAX_LENGTH, puzzle[i].length);
+        }
+        resetPuzzle();
+    }
+
+    /**
+     * @param puzzle The digits 1-9 of the puzzle, and 0 for an empty cell, indexed by cell
+     */
+    void initializePuzzle(int[] puzzle) {
+        System.arraycopy(puzzle, 0, mPuzzle, 0, CELL_COUNT);
+        resetPuzzle();
+    }
+
+    /**
+     * Resets the state of the solver to the original digits in mPuzzle
+     */
+    private void resetPuzzle() {
+        mRetainedDeductions = RETAINED_NONE;
+
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            mPartiallySolvedPuzzle[cell] = mPuzzle[cell] == 0 ? ALL_DIGITS : VALUE[mPuzzle[cell]];
+        }
+        seedPartitions();
+    }
+
+    /**
+     * @param puzzle A MAX_LENGTH by MAX_LENGTH array containing the digits 1-9 of the puzzle
+     * @return
+     * @see #MAX_LENGTH
+     */
+    @Override
+    public SudokuPuzzleSolution solve(int[][] puzzle) {
+        initializePuzzle(puzzle);
+        return toSolution(solveInitializedPuzzle());
+    }
+
+    /**
+     * <p>Solves the puzzle without allocating, once the instance has solved its first puzzle.
+     * For solving many puzzles with one instance</p>
+     * @param puzzle The digits 1-9 of the puzzle, and 0 for an empty cell, indexed by cell;
+     *               ie. row * MAX_LENGTH + column
+     * @param partialSolution Receives the candidate mask of each cell, indexed by cell
+     * @return The bitwise 'or' of {@link #STATUS_SOLVED} and {@link #STATUS_REQUIRED_SEARCH}, as
+     * they apply
+     * @see CandidateMask
+     */
+    public int solve(int[] puzzle, int[] partialSolution) {
+        initializePuzzle(puzzle);
+        int status = solveInitializedPuzzle();
+
+        System.arraycopy(mPartiallySolvedPuzzle, 0, partialSolution, 0, CELL_COUNT);
+        return status;
+    }
+
+    /**
+     * @param puzzle A MAX_LENGTH by MAX_LENGTH array containing the digits 1-9 of the puzzle
+     * @see #solve(int[], int[], SolveBudget)
+     */
+    public SudokuPuzzleSolution solve(int[][] puzzle, SolveBudget budget) {
+        initializePuzzle(puzzle);
+        return toSolution(solveInitializedPuzzle(-1, budget));
+    }
+
+    /**
+     * <p>Solves the puzzle as {@link #solve(int[], int[])} does, but stops once the budget is
+     * spent. The solve then stops cleanly, between two units of the deductions or two branches of
+     * the completion search, and gives the candidates deduced so far. They are sound, as every
+     * deduction only takes a digit that cannot be in its cell; but fewer than a whole solve would
+     * take</p>
+     * @param partialSolution Receives the candidate mask of each cell, indexed by cell
+     * @return The status flags, with {@link #STATUS_BUDGET_EXCEEDED} if the budget ran out
+     */
+    public int solve(int[] puzzle, int[] partialSolution, SolveBudget budget) {
+        initializePuzzle(puzzle);
+        int status = solveInitializedPuzzle(-1, budget);
+
+        System.arraycopy(mPartiallySolvedPuzzle, 0, partialSolution, 0, CELL_COUNT);
+        return status;
+    }
+
+    /**
+     * @param digit 1-9, or 0 to empty the cell
+     * @see #solveEdit(int, int, int[])
+     */
+    public SudokuPuzzleSolution solveEdit(int row, int column, int digit) {
+        return toSolution(solveEditedPuzzle(row * MAX_LENGTH + column, digit));
+    }
+
+    /**
+     * <p>Solves the puzzle of the last solve with one cell changed, keeping what that solve
+     * deduced where it still holds. For live validation, which solves again at each edit</p>
+     * <p>A digit put in an empty cell only takes digits from cells, so the deductions go on from
+     * those of the last solve, working only on the units that lose digits. A digit taken away or
+     * changed may have led to deductions anywhere in the puzzle, so they are all made again from
+     * the givens, as by a solve. So is any edit after a countSolutions, or after an inconsistent
+     * puzzle</p>
+     * <p>The candidates are those a solve of the edited puzzle would give. The stats and the
+     * difficulty rating count the work of the edit only</p>
+     * @param cell The cell to change, of the puzzle of the last solve; ie. row * MAX_LENGTH +
+     *             column
+     * @param digit 1-9, or 0 to empty the cell
+     * @param partialSolution Receives the candidate mask of each cell, indexed by cell
+     * @return The status flags, as of {@link #solve(int[], int[])}
+     * @throws IllegalArgumentException if digit is not 0-9
+     */
+    public int solveEdit(int cell, int digit, int[] partialSolution) {
+        int status = solveEditedPuzzle(cell, digit);
+
+        System.arraycopy(mPartiallySolvedPuzzle, 0, partialSolution, 0, CELL_COUNT);
+        return status;
+    }
+
+    /**
+     * @param puzzle A MAX_LENGTH by MAX_LENGTH array containing the digits 1-9 of the puzzle
+     * @see #countSolutions(int[], int, int[])
+     */
+    public int countSolutions(int[][] puzzle, int limit) {
+        initializePuzzle(puzzle);
+        return countInitializedPuzzle(limit, null);
+    }
+
+    /**
+     * <p>Counts the solutions of the puzzle, up to limit. A limit of 2 checks that the puzzle has
+     * a unique solution, which {@link SudokuPuzzleSolution#isSolved} does not: it only says
+     * that the deductions, or the first branch of the search, completed the puzzle</p>
+     * <p>The search is that of guaranteed completion, with all deductions made again at each
+     * branch, but goes on past the first solution. It stops as soon as limit solutions are
+     * found</p>
+     * @param puzzle The digits 1-9 of the puzzle, and 0 for an empty cell, indexed by cell
+     * @param limit The most solutions to count; at least 1
+     * @param solution If not null, receives the candidate mask of each cell of the first
+     *                 solution found, indexed by cell; and is left as it was if there is none
+     * @return The number of solutions, but no more than limit; 0 for an inconsistent puzzle
+     * @throws IllegalArgumentException if limit < 1
+     * @see #setGuaranteedCompletion(boolean)
+     */
+    public int countSolutions(int[] puzzle, int limit, int[] solution) {
+        initializePuzzle(puzzle);
+        return countInitializedPuzzle(limit, solution);
+    }
+
+    /**
+     * <p>For {@link SudokuGenerator}: whether the puzzle has a solution in which the cell is not
+     * the digit. A puzzle that was unique with the digit at the cell stays unique without it iff
+     * not. This is quicker to search than counting to 2, as the known solution is not found
+     * again</p>
+     * @param puzzle The digits of the puzzle indexed by cell, with the cell empty
+     */
+    boolean hasSolutionWithout(int[] puzzle, int cell, int digit) {
+        initializePuzzle(puzzle);
+        // The deductions only ever take digits from a cell, so the digit stays excluded
+        mPartiallySolvedPuzzle[cell] &= ~VALUE[digit];
+        mSolutionCount = 0;
+        return makeDeductionsFromPartialSolution() && countBySearch(0, 1, null);
+    }
+
+    private int solveEditedPuzzle(int cell, int digit) {
+        if (digit < 0 || digit > MAX_LENGTH) {
+            throw new IllegalArgumentException("The digit must be 0-9");
+        }
+        boolean isAdded = mPuzzle[cell] == 0 && digit != 0;
+        mPuzzle[cell] = digit;
+
+        if (isAdded && mRetainedDeductions == RETAINED_INDEX
+                && (mPartiallySolvedPuzzle[cell] & VALUE[digit]) != 0) {
+            return solveInitializedPuzzle(cell, mDefaultBudget);
+        }
+
+        if (isAdded && mRetainedDeductions == RETAINED_SNAPSHOT
+                && (mSnapshots[cell] & VALUE[digit]) != 0) {
+            // The partitions are those of the last branch, so they are placed again
+            System.arraycopy(mSnapshots, 0, mPartiallySolvedPuzzle, 0, CELL_COUNT);
+            mPartiallySolvedPuzzle[cell] = VALUE[digit];
+            seedPartitions();
+            return solveInitializedPuzzle();
+        }
+        // A digit that is not a candidate leaves the puzzle inconsistent, as a solve reports
+        resetPuzzle();
+        return solveInitializedPuzzle();
+    }
+
+    private int countInitializedPuzzle(int limit, int[] solution) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("The limit must be positive");
+        }
+
+        if (mStats != null) {
+            mStats.reset();
+        }
+        mSolutionCount = 0;
+
+        if (makeDeductionsFromPartialSolution()) {
+            countBySearch(0, limit, solution);
+        }
+        return mSolutionCount;
+    }
+
+    private SudokuPuzzleSolution toSolution(int status) {
+        return new SudokuPuzzleSolution((status & STATUS_SOLVED) != 0,
+                (status & STATUS_REQUIRED_SEARCH) != 0, (status & STATUS_BUDGET_EXCEEDED) != 0,
+                copyPartiallySolvedPuzzle(), mStats != null ? new SolverStats(mStats) : null,
+                getDifficulty());
+    }
+
+    /**
+     * @return true iff the solve has a budget, and has spent it
+     */
+    private boolean isOverBudget() {
+        SolveBudget budget = mBudget;
+
+        if (budget != null && !mIsBudgetExceeded) {
+            mIsBudgetExceeded = mDeductionRounds > budget.maxRounds
+                    || mSpentNodes > budget.maxSearchNodes
+                    || System.nanoTime() - mBudgetStart > budget.nanos
+                    || budget.stopsOnInterrupt && Thread.currentThread().isInterrupted();
+        }
+        return mIsBudgetExceeded;
+    }
+
+    /**
+     * @return The status flags of the solve
+     * @see #solve(int[], int[])
+     */
+    private int solveInitializedPuzzle() {
+        return solveInitializedPuzzle(-1, mDefaultBudget);
+    }
+
+    /**
+     * @param addedCell The cell of a digit put into the puzzle of the last solve, whose deductions
+     *                  and partitions are retained; or -1 to make all deductions
+     * @param budget The budget of the solve, or null for none
+     * @return The status flags of the solve
+     */
+    private int solveInitializedPuzzle(int addedCell, SolveBudget budget) {
+        mBudget = budget;
+        mBudgetStart = System.nanoTime();
+
+        try {
+            return solvePuzzle(addedCell);
+        } finally {
+            // The budget is not for countSolutions
+            mBudget = null;
+        }
+    }
+
+    private int solvePuzzle(int addedCell) {
+        SolverStats stats = mStats;
+        long time = 0;
+
+        if (stats != null) {
+            stats.reset();
+            time = System.nanoTime();
+        }
+        mDeductionRounds = mHardestSplit = mSplitWeight = mSearchDepth = mBacktracks = 0;
+        mDeductionsStalled = true;
+        mRetainedDeductions = RETAINED_NONE;
+        mSpentNodes = 0;
+        mIsBudgetExceeded = false;
+
+        if (addedCell < 0) {
+            makeInitialDeductions();
+        }
+        boolean isSolved;
+        boolean requiredSearch = false;
+
+        try {
+            if (stats != null) {
+                stats.initialDeductionNanos = System.nanoTime() - time;
+                time += stats.initialDeductionNanos;
+            }
+
+            if (addedCell < 0) {
+                makeGeneralDeductions();
+            } else {
+                makeDeductionsFromDigit(addedCell, VALUE[mPuzzle[addedCell]]);
+            }
+            isSolved = !mIsInconsistent && isSolved();
+            mDeductionsStalled = !isSolved;
+
+            // Deductions cut short by the budget are not those of the puzzle, to go on from
+            if (!mIsInconsistent && !mIsBudgetExceeded) {
+                mRetainedDeductions = RETAINED_INDEX;
+            }
+
+            if (stats != null) {
+                stats.generalDeductionNanos = System.nanoTime() - time;
+                time += stats.generalDeductionNanos;
+            }
+
+            if (!isSolved && mGuaranteedCompletion && !mIsInconsistent && !mIsBudgetExceeded
+                    && isConsistent()) {
+                requiredSearch = true;
+                // The first snapshot of the search keeps the candidates of the deductions
+                mRetainedDeductions = RETAINED_SNAPSHOT;
+                // The deductions of the branches are counted by the search, not as rounds
+                int rounds = mDeductionRounds, hardestSplit = mHardestSplit, splitWeight = mSplitWeight;
+                isSolved = completeBySearch(0);
+                mDeductionRounds = rounds;
+                mHardestSplit = hardestSplit;
+                mSplitWeight = splitWeight;
+
+                if (stats != null) {
+                    stats.completionNanos = System.nanoTime() - time;
+                }
+            }
+        } catch (Exception e) {
+            mLogger.error("Solver", e.getMessage());
+            // The solver had an internal error
+            isSolved = false;
+            mRetainedDeductions = RETAINED_NONE;
+        }
+        return (isSolved ? STATUS_SOLVED : 0) | (requiredSearch ? STATUS_REQUIRED_SEARCH : 0)
+                | (mIsBudgetExceeded ? STATUS_BUDGET_EXCEEDED : 0);
+    }
+
+    /**
+     * <p>Branches on the cell with the fewest digits, trying each of its digits in turn. The
+     * deductions are made again after each choice, and a choice that leads to an inconsistent
+     * puzzle is undone from a snapshot</p>
+     * <p>Precondition: all deductions have been made and the puzzle is consistent</p>
+     * @param depth The number of choices made so far
+     * @return true iff the puzzle was completed. Otherwise, mPartiallySolvedPuzzle is restored to
+     * its state before the call
+     */
+    private boolean completeBySearch(int depth) {
+        int cell = getCellWithFewestDigits();
+
+        if (cell < 0) {
+            return true;
+        }
+
+        int snapshot = depth * CELL_COUNT;
+        System.arraycopy(mPartiallySolvedPuzzle, 0, mSnapshots, snapshot, CELL_COUNT);
+        mSearchDepth = Math.max(mSearchDepth, depth + 1);
+
+        for (int digits = mPartiallySolvedPuzzle[cell], digit; digits != 0; digits &= ~digit) {
+            digit = digits & -digits; // The lowest remaining digit
+
+            mSpentNodes++;
+
+            if (mBudget != null && isOverBudget()) {
+                return false; // The puzzle is as it was before the call
+            }
+            mPartiallySolvedPuzzle[cell] = digit;
+
+            if (mStats != null) {
+                mStats.searchBranches++;
+            }
+
+            if (makeDeductionsFromPartialSolution() && completeBySearch(depth + 1)) {
+                return true;
+            }
+            System.arraycopy(mSnapshots, snapshot, mPartiallySolvedPuzzle, 0, CELL_COUNT);
+
+            if (mBudget != null && isOverBudget()) {
+                return false; // Stopped, not a dead end
+            }
+            mBacktracks++;
+        }
+        return false;
+    }
+
+    /**
+     * <p>Branches as {@link #completeBySearch(int)} does, counting into mSolutionCount each
+     * completed puzzle instead of stopping at the first</p>
+     * <p>Precondition: all deductions have been made and the puzzle is consistent</p>
+     * @return true iff mSolutionCount reached limit. mPartiallySolvedPuzzle is restored to its
+     * state before the call, unless it was completed without a branch
+     */
+    private boolean countBySearch(int depth, int limit, int[] solution) {
+        int cell = getCellWithFewestDigits();
+
+        if (cell < 0) {
+            if (mSolutionCount++ == 0 && solution != null) {
+                System.arraycopy(mPartiallySolvedPuzzle, 0, solution, 0, CELL_COUNT);
+            }
+            return mSolutionCount == limit;
+        }
+
+        int snapshot = depth * CELL_COUNT;
+        System.arraycopy(mPartiallySolvedPuzzle, 0, mSnapshots, snapshot, CELL_COUNT);
+
+        for (int digits = mPartiallySolvedPuzzle[cell], digit; digits != 0; digits &= ~digit) {
+            digit = digits & -digits;
+
+            mPartiallySolvedPuzzle[cell] = digit;
+
+            if (mStats != null) {
+                mStats.searchBranches++;
+            }
+            boolean isDone = makeDeductionsFromPartialSolution() && countBySearch(depth + 1, limit, solution);
+            System.arraycopy(mSnapshots, snapshot, mPartiallySolvedPuzzle, 0, CELL_COUNT);
+
+            if (isDone) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the cell with the fewest digits, of those with more than one digit; or -1 if every
+     * cell has a single digit
+     */
+    private int getCellWithFewestDigits() {
+        int fewestCell = -1;
+        int fewest = MAX_LENGTH + 1;
+
+        for (int cell = 0, length; cell < CELL_COUNT; cell++) {
+            length = CandidateMask.size(mPartiallySolvedPuzzle[cell]);
+
+            if (length > 1 && length < fewest) {
+                fewest = length;
+                fewestCell = cell;
+
+                if (length == 2) {
+                    break;
+                }
+            }
+        }
+        return fewestCell;
+    }
+
+    /**
+     * <p>Places the cells back into partitions, as {@link #initializePuzzle(int[][])} does, but
+     * taking every cell with a single digit as if it were an original digit. Then makes all
+     * deductions</p>
+     * @return false iff the puzzle was found to be inconsistent
+     */
+    private boolean makeDeductionsFromPartialSolution() {
+        seedPartitions();
+
+        try {
+            makeInitialDeductions();
+            makeGeneralDeductions();
+        } catch (Exception e) {
+            return false;
+        }
+        // An inconsistent choice can leave a partition with fewer digits than cells
+        return !mIsInconsistent && isConsistent();
+    }
+
+    private int[] copyPartiallySolvedPuzzle() {
+        return Arrays.copyOf(mPartiallySolvedPuzzle, CELL_COUNT);
+    }
+
+    // Testing only
+    int[] getPartiallySolvedPuzzle() {
+        return mPartiallySolvedPuzzle;
+    }
+
+
+
+    /**
+     * Testing only
+     * @param type one of {@link #GRID}, {@link #ROW}, {@link #COLUMN}
+     * @return The iterator that corresponds to type
+     */
+    SudokuIterator getIterator(int type) {
+        return type == GRID ? gridIterator :
+                type == ROW ? rowIterator :
+                        columnIterator;
+    }
+
+    /**
+     * <p>For printing only; the solver works on candidate masks with {@link CandidateMask}</p>
+     * @param value A value with 1-bits indicating possible or uncertain digits
+     * @return Maps value to a floating point value as result. If result has no fractional part
+     *  and is not 0, then it is the only possible, or certain, digit
+     */
+    static float getDigit(int value) {
+        if (value <= 0)
+            return 0f;
+
+        int digit = CandidateMask.certainDigit(value);
+        return digit != 0 ? digit : (float) (Math.log(value) / Math.log(2)) + 1;
+    }
+
+    /**
+     *
+     * @return 0 if value does not have exactly 1 digit; otherwise the digit
+     * @see CandidateMask#certainDigit(int)
+     */
+    public static int getCertainDigit(int value) {
+        return CandidateMask.certainDigit(value);
+    }
+
+    public static int clipDigit(int raw) {
+        return (raw < 0 ? 0 : raw) % (MAX_LENGTH + 1);
+    }
+
+    /**
+     * <p>Makes the length of the value of the partition equal to the number of cells of the partition.
+     * Applies the value of the partition to the individual cell to make deductions to limit its
+     * possible digits; ie. the possibilities for each cell are reduced</p>
+     * <p>Does NOT reduce partition into smaller partitions. This comes later in the next step</p>
+     * @see CandidateMask#size(int)
+     * @see SudokuIterator
+     */
+    void makeInitialDeductions() {
+        int newValue, cell;
+        int invertibleDigits;
+        int partitionDigits;
+
+        for (SudokuIterator it : mIterators) {
+
+            it.resetSlice();
+
+            while (it.nextSlice()) {
+                invertibleDigits = 0;
+
+                // For each partition of the slice, accumulate its digits, if the partition is self-contained
+                it.resetPartition();
+
+                while (it.nextPartition()) {
+                    partitionDigits = it.getPartitionValue();
+
+                    if (CandidateMask.size(partitionDigits) == it.getPartitionSize()) {
+                        invertibleDigits |= partitionDigits;
+                    }
+                }
+
+                // Invert the digits to use as a bitmask for the digits of the partitions that need to be masked.
+                // These are the complementary set to the partitions in the first step
+                invertibleDigits = ~invertibleDigits;
+
+                // Update digits, or value, for each partition and its set of corresponding cells in the 9x9 puzzle grid
+                it.resetPartition();
+
+                while (it.nextPartition()) {
+                    partitionDigits = it.getPartitionValue();
+
+                    // Apply the bitmask to reduce the possible digits for the partition
+                    newValue = partitionDigits & invertibleDigits;
+
+                    if (CandidateMask.size(partitionDigits) > it.getPartitionSize()) {
+                        it.setPartitionValue(newValue);
+
+                        while (it.nextPartitionElement()) {
+                            cell = it.cell;
+
+                            if (mPuzzle[cell] != 0)
+                                throw new RuntimeException(String.format(Locale.US,
+                                        "Attempting to modify original digits @ (row=%d, column=%d",
+                                        cell / MAX_LENGTH, cell % MAX_LENGTH));
+
+                            // Update the puzzle
+                            maskCell(cell, newValue);
+                        }
+                    }
+                }
+
+                // Masked partitions may now share a value with another partition
+                indexUnitPartitions(it.mUnitOffset + it.slice);
+                propagateCertainCells();
+            }
+        }
+    }
+
+    /**
+     * @throws Exception Internal error
+     */
+    void makeGeneralDeductions() throws Exception {
+        clearScheduledUnits();
+
+        // Every unit is worked on once; after that, only the units with a cell that lost digits
+        for (int unit = 0; unit < UNIT_COUNT; unit++) {
+            scheduleUnit(unit);
+        }
+        deduceScheduledUnits();
+    }
+
+    /**
+     * <p>Takes the other digits from the cell, and makes the deductions that follow. Only the
+     * units with a cell that lost digits are worked on</p>
+     * <p>Precondition: all deductions have been made, and the partitions are in place</p>
+     * @param digit The digit of the cell, as a candidate mask
+     * @throws Exception Internal error
+     */
+    private void makeDeductionsFromDigit(int cell, int digit) throws Exception {
+        clearScheduledUnits();
+        mCertainCellCount = 0;
+        maskCell(cell, digit);
+        propagateCertainCells();
+        deduceScheduledUnits();
+    }
+
+    /**
+     * An inconsistent puzzle may have left units queued
+     */
+    private void clearScheduledUnits() {
+        mScheduledUnitHead = mScheduledUnitCount = mScheduledUnitFlags = 0;
+        mIsInconsistent = false;
+    }
+
+    /**
+     * Works on the queued units, and on those queued meanwhile, until none are left
+     * @throws Exception Internal error
+     */
+    private void deduceScheduledUnits() throws Exception {
+        PartitionQueue list = mPartitionQueue;
+
+        for (int roundUnits = 0; mScheduledUnitCount > 0 && !mIsInconsistent; roundUnits--) {
+            if (roundUnits == 0) {
+                mDeductionRounds++;
+                roundUnits = mScheduledUnitCount;
+            }
+
+            if (mBudget != null && isOverBudget()) {
+                break; // The units left queued are cleared by the next deductions
+            }
+            int unit = pollScheduledUnit();
+            SudokuIterator it = mIterators[unit / MAX_LENGTH];
+
+            if (mStats != null) {
+                mStats.unitVisits++;
+            }
+            it.setSlice(unit % MAX_LENGTH);
+            deducePartitions(it, queuePartitions(it, list));
+        }
+    }
+
+    /**
+     * Queues the unit to be worked on by {@link #makeGeneralDeductions()}, unless it is already
+     * queued
+     */
+    private void scheduleUnit(int unit) {
+        if ((mScheduledUnitFlags & 1 << unit) == 0) {
+            mScheduledUnitFlags |= 1 << unit;
+            mScheduledUnits[(mScheduledUnitHead + mScheduledUnitCount++) % UNIT_COUNT] = unit;
+        }
+    }
+
+    /**
+     * <p>Precondition: mScheduledUnitCount > 0</p>
+     * @return the unit at the head of the queue, which is removed
+     */
+    private int pollScheduledUnit() {
+        int unit = mScheduledUnits[mScheduledUnitHead];
+        mScheduledUnitHead = (mScheduledUnitHead + 1) % UNIT_COUNT;
+        mScheduledUnitCount--;
+        mScheduledUnitFlags &= ~(1 << unit);
+        return unit;
+    }
+
+    /**
+     * Removes digits from the cell, and queues the units of the cell if it lost any
+     * @param digits the digits to keep
+     */
+    private void maskCell(int cell, int digits) {
+        if ((mPartiallySolvedPuzzle[cell] & ~digits) != 0) {
+            mPartiallySolvedPuzzle[cell] &= digits;
+
+            for (int k = cell * UNIT_TYPES, end = k + UNIT_TYPES; k < end; k++) {
+                scheduleUnit(CELL_UNITS[k]);
+            }
+
+            if (CandidateMask.isCertain(mPartiallySolvedPuzzle[cell])) {
+                mCertainCells[mCertainCellCount++] = cell;
+            }
+        }
+    }
+
+    /**
+     * <p>Splits every cell that became certain from the partitions of all of its units, so that
+     * a digit found in one unit is taken from the cells of the other two units straight away,
+     * rather than when their turn comes</p>
+     * <p>This is the deduction a search of those partitions would make, as the cell alone is a
+     * self-contained partition</p>
+     */
+    private void propagateCertainCells() {
+        while (mCertainCellCount > 0) {
+            int cell = mCertainCells[--mCertainCellCount];
+            int digit = mPartiallySolvedPuzzle[cell];
+
+            if (!CandidateMask.isCertain(digit)) {
+                continue; // Emptied since, in an inconsistent puzzle
+            }
+
+            for (int k = cell * UNIT_TYPES, end = k + UNIT_TYPES; k < end; k++) {
+                isolateCell(CELL_UNITS[k], CELL_ELEMENTS[k], digit);
+            }
+        }
+    }
+
+    /**
+     * Splits the element of a certain cell from its partition in the unit, and removes its digit
+     * from the remaining cells of the partition
+     */
+    private void isolateCell(int unit, int element, int digit) {
+        int slotBase = unit * MAX_LENGTH;
+        int slot = mPartitionSlots[slotBase + element];
+        int elements = mPartitionElements[slotBase + slot];
+        int value = mPartitionValues[slotBase + slot];
+
+        if (elements == 1 << element || (value & digit) == 0) {
+            return; // Already isolated, or an inconsistent puzzle
+        }
+        splitPartition(unit, slot, 1 << element, digit, value & ~digit);
+
+        for (int rest = elements & ~(1 << element); rest != 0; rest &= rest - 1) {
+            maskCell(UNIT_CELLS[slotBase + Integer.numberOfTrailingZeros(rest)], value & ~digit);
+        }
+        // A queued value of the parent partition is now stale
+        scheduleUnit(unit);
+    }
+
+    /**
+     * <p>Places the cells of every unit into partitions: each certain cell forms a partition of its
+     * own, and the other cells form a single partition of all digits</p>
+     */
+    private void seedPartitions() {
+        mCertainCellCount = 0;
+
+        for (int unit = 0; unit < UNIT_COUNT; unit++) {
+            for (int element = 0, value; element < MAX_LENGTH; element++) {
+                value = mPartiallySolvedPuzzle[UNIT_CELLS[unit * MAX_LENGTH + element]];
+                mElementValues[element] = CandidateMask.isCertain(value) ? value : ALL_DIGITS;
+            }
+            groupPartitions(unit, mElementValues);
+        }
+    }
+
+    /**
+     * Rebuilds the partitions of the unit from the values of their slots, merging the partitions
+     * that share a value
+     */
+    private void indexUnitPartitions(int unit) {
+        int slotBase = unit * MAX_LENGTH;
+
+        for (int element = 0; element < MAX_LENGTH; element++) {
+            mElementValues[element] = mPartitionValues[slotBase + mPartitionSlots[slotBase + element]];
+        }
+        groupPartitions(unit, mElementValues);
+    }
+
+    /**
+     * Rebuilds the partitions of the unit; elements of equal value form a partition
+     * @param elementValues The value of each element of the unit
+     */
+    private void groupPartitions(int unit, int[] elementValues) {
+        int slotBase = unit * MAX_LENGTH;
+        int valueBase = unit * VALUE_COUNT;
+
+        for (int k = 0; k < mPartitionCounts[unit]; k++) {
+            mSlotsByValue[valueBase + mPartitionValues[slotBase + k]] = 0;
+        }
+        mPartitionCounts[unit] = 0;
+
+        for (int element = 0, value, slot; element < MAX_LENGTH; element++) {
+            value = elementValues[element];
+            slot = mSlotsByValue[valueBase + value] - 1;
+
+            if (slot < 0) {
+                slot = mPartitionCounts[unit]++;
+                mPartitionValues[slotBase + slot] = value;
+                mPartitionElements[slotBase + slot] = 0;
+                mSlotsByValue[valueBase + value] = slot + 1;
+            }
+            mPartitionElements[slotBase + slot] |= 1 << element;
+            mPartitionSlots[slotBase + element] = slot;
+        }
+    }
+
+    /**
+     * Splits a partition of the unit in two. The partition of value altValue takes the slot of
+     * the parent
+     * @param augElements the elements, as bits, that form the partition of value augValue.
+     *                    The remaining elements form the partition of value altValue
+     */
+    private void splitPartition(int unit, int slot, int augElements, int augValue, int altValue) {
+        int slotBase = unit * MAX_LENGTH;
+        int valueBase = unit * VALUE_COUNT;
+
+        if (mSlotsByValue[valueBase + augValue] != 0 || mSlotsByValue[valueBase + altValue] != 0) {
+            // Only an inconsistent puzzle repeats a value within a unit. Merge by value, as
+            // the partitions are defined
+            for (int element = 0, k; element < MAX_LENGTH; element++) {
+                k = mPartitionSlots[slotBase + element];
+                mElementValues[element] = k != slot ? mPartitionValues[slotBase + k]
+                        : (augElements & 1 << element) != 0 ? augValue : altValue;
+            }
+            groupPartitions(unit, mElementValues);
+            return;
+        }
+        int alt = slotBase + slot;
+        int aug = mPartitionCounts[unit]++;
+
+        mSlotsByValue[valueBase + mPartitionValues[alt]] = 0;
+
+        mPartitionElements[slotBase + aug] = augElements;
+        mPartitionValues[slotBase + aug] = augValue;
+        mSlotsByValue[valueBase + augValue] = aug + 1;
+
+        mPartitionElements[alt] &= ~augElements;
+        mPartitionValues[alt] = altValue;
+        mSlotsByValue[valueBase + altValue] = slot + 1;
+
+        for (int rest = augElements; rest != 0; rest &= rest - 1) {
+            mPartitionSlots[slotBase + Integer.numberOfTrailingZeros(rest)] = aug;
+        }
+    }
+
+    /**
+     * @return false if some cell has no digits, some unit is missing a digit, or a digit is
+     * certain in two cells of a unit
+     */
+    boolean isConsistent() {
+        for (int k = 0, end = 0, union, certain, value; k < UNIT_CELLS.length; ) {
+            end += MAX_LENGTH;
+            union = certain = 0;
+
+            for (; k < end; k++) {
+                value = mPartiallySolvedPuzzle[UNIT_CELLS[k]];
+
+                if (value == 0) {
+                    return false;
+                }
+                union |= value;
+
+                if (CandidateMask.isCertain(value)) {
+                    if ((certain & value) != 0) {
+                        return false;
+                    }
+                    certain |= value;
+                }
+            }
+
+            if (union != ALL_DIGITS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isSolved() {
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            if (!CandidateMask.isCertain(mPartiallySolvedPuzzle[cell])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>Precondition: it.nextSlice() == true</p>
+     * @param list the queue to refill. The queue will be populated with the value property of each
+     *             partition for which the partition's size > 1
+     * @return reference to list for convenience
+     */
+    private PartitionQueue queuePartitions(SudokuIterator it, PartitionQueue list) {
+        list.clear();
+        it.resetPartition();
+
+        while (it.nextPartition()) {
+            if (it.getPartitionSize() > 1) {
+                list.add(it.getPartitionValue());
+            }
+        }
+
+        if (mStats != null) {
+            mStats.partitionsQueued += list.size();
+        }
+        return list;
+    }
+
+    /**
+     *
+     * @param list a queue, containing all of the partition values of some slice,
+     *             with the restriction CandidateMask.size(v) > 1 for each value v in the list
+     * @return whether a deduction was made
+     */
+    private boolean deducePartitions(SudokuIterator it, PartitionQueue list)
+            throws Exception {
+
+        boolean deduction = false;
+
+        while (!list.isEmpty() && !mIsInconsistent) {
+            if (shrinkPartitions(it, list)) {
+                deduction = true;
+
+                if (mStats != null) {
+                    mStats.shrinkSuccesses++;
+                }
+            } else if (mStats != null) {
+                mStats.shrinkFailures++;
+            }
+        }
+        return deduction;
+    }
+
+    /**
+     *
+     * Perform a search to determine how to split a single partition into two partitions
+     * @param list may grow or shrink if the search succeeds. If it does not succeed, list
+     *              will necessarily shrink
+     */
+    private boolean shrinkPartitions(SudokuIterator it, PartitionQueue list) throws Exception {
+        if (list.isEmpty()) {
+            throw new IllegalStateException("Unable to perform deductions on partitions" +
+                    "for empty list");
+        }
+
+        searchHelper.reset();
+        searchHelper.setPartitionValue(list.poll()); // Remove the head from the queue. The removed item represents the partition that is to be worked on
+
+        if (searchHelper.getPartitionSize() == 1) {
+            // Operable partitions are of size > 1, so a single digit is shared by several cells.
+            // This is expected of the inconsistent choices of the completion search
+            mIsInconsistent = true;
+            return false;
+        }
+
+        if (mStats != null) {
+            mStats.partitionResets++;
+        }
+
+        if (!it.resetPartition(searchHelper.getPartitionValue())) {
+            return false; // Merged into another partition of an inconsistent puzzle
+        }
+        searchHelper.load(it);
+
+        // Perform the search
+        // The selection of cells that form a smaller partition will be maintained by the state of
+        // searchHelper. The unselected cells form the alternative partition.
+        boolean isSuccess = searchHelper.search();
+
+        mSpentNodes += searchHelper.getNodeCount();
+
+        if (mStats != null) {
+            mStats.searchNodes += searchHelper.getNodeCount();
+        }
+
+        if (isSuccess) {
+
+            // New partition values
+            int pv = searchHelper.getValAlt();
+            int pvA = searchHelper.getValAug();
+
+            // Number of cells of the partition formed by augmentation must be > 1
+            if (searchHelper.getSizeAug() > 1) {
+                list.addFirst(pvA);
+            }
+            // Number of cells of the alternative partition must be > 1
+            if (searchHelper.getSizeAlt() > 1) {
+                list.addFirst(pv);
+            }
+
+            if (mStats != null) {
+                mStats.partitionsQueued += (searchHelper.getSizeAug() > 1 ? 1 : 0)
+                        + (searchHelper.getSizeAlt() > 1 ? 1 : 0);
+            }
+
+            // The smaller part is the subset to be spotted, naked or hidden
+            int split = Math.min(searchHelper.getSizeAug(), searchHelper.getSizeAlt());
+            mSplitWeight += split * split;
+            mHardestSplit = Math.max(mHardestSplit, split);
+
+            int augElements = searchHelper.getAugElements();
+            it.resetPartition(searchHelper.getPartitionValue());
+
+            while (it.nextPartitionElement()) {
+                if ((augElements & 1 << it.element) == 0) {
+                    // Make deductions in the puzzle
+                    maskCell(it.cell, pv);
+                }
+            }
+
+            it.splitPartition(augElements, pvA, pv); // Newly formed partitions take the place of their parent in the index
+            propagateCertainCells();
+
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * <p>For benchmarks: loads the search of {@link #shrinkPartitions} with the first partition of
+     * more than one cell, of the units in order, without changing the puzzle</p>
+     * @return false if there is no such partition
+     * @see #searchLoadedPartition()
+     */
+    boolean loadFirstPartitionSearch() {
+        for (SudokuIterator it : mIterators) {
+            it.resetSlice();
+
+            while (it.nextSlice()) {
+                it.resetPartition();
+
+                while (it.nextPartition()) {
+                    if (it.getPartitionSize() > 1) {
+                        searchHelper.reset();
+                        searchHelper.setPartitionValue(it.getPartitionValue());
+                        searchHelper.load(it);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * For benchmarks: searches the partition loaded by {@link #loadFirstPartitionSearch()}. The
+     * search only reads the loaded cells, so it may be repeated
+     * @return true iff a positive search outcome
+     */
+    boolean searchLoadedPartition() {
+        return searchHelper.search();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+/*
+ * Created by John Masiello. Copyright (c) 2018
+ */
+
+package com.example.john.sudokusolver;
+
+import com.example.john.sudokusolver.SudokuPuzzleSolver.SudokuPuzzleSolution;
+
+/**
+ * The contract shared by the Sudoku puzzle solving engines
+ * @see SudokuPuzzleSolver
+ * @see DancingLinksSolver
+ */
+public interface SudokuSolverEngine {
+
+    /**
+     * @param puzzle A MAX_LENGTH by MAX_LENGTH array containing the digits 1-9 of the puzzle,
+     *               and 0 for an empty cell
+     * @return the solution and its metaData
+     */
+    SudokuPuzzleSolution solve(int[][] puzzle);
+}
@@ -0,0 +1,112 @@
+package com.example.john.sudokusolver;
+
+import com.example.john.sudokusolver.SudokuPuzzleSolver.SudokuPuzzleSolution;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.MAX_LENGTH;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that transformed puzzles are solved from the cache, as by the engine
+ */
+public class CachingSudokuSolverTest {
+    private static int[][] toGrid(int[] cells) {
+        int[][] grid = new int[MAX_LENGTH][MAX_LENGTH];
+
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            System.arraycopy(cells, i * MAX_LENGTH, grid[i], 0, MAX_LENGTH);
+        }
+        return grid;
+    }
+
+    @Test
+    public void testTransformedPuzzlesHit() {
+        SudokuPuzzleSolver engine = new SudokuPuzzleSolver();
+        SudokuPuzzleSolver reference = new SudokuPuzzleSolver();
+        SolutionCache cache = new SolutionCache(100, 1 << 20);
+        CachingSudokuSolver solver = new CachingSudokuSolver(engine, cache);
+        Random random = new Random(11);
+        int[] expected = new int[CELL_COUNT];
+        int[] actual = new int[CELL_COUNT];
+
+        // Deductions only, so puzzleHard is left partly solved. (puzzle3 is a transformation of
+        // puzzle1, so it would hit too)
+        int[][][] batch = { TestPuzzles.puzzle1, TestPuzzles.puzzle2, TestPuzzles.puzzleHard };
+
+        for (int[][] grid : batch) {
+            int[] cells = TestPuzzles.toCells(grid);
+
+            for (int k = 0; k < 5; k++) {
+                int[][] puzzle = toGrid(SudokuCanonicalizerTest.transform(cells, random));
+                SudokuPuzzleSolution solution = solver.solve(puzzle);
+                SudokuPuzzleSolution direct = reference.solve(puzzle);
+
+                // The rating depends on the order of the cells, so it is not cached
+                if (k == 0) {
+                    assertNotNull(solution.getDifficulty());
+                } else {
+                    assertNull(solution.getDifficulty());
+                }
+
+                assertEquals(direct.isSolved, solution.isSolved);
+                assertEquals(direct.requiredSearch, solution.requiredSearch);
+                direct.copyCandidates(expected);
+                solution.copyCandidates(actual);
+                assertArrayEquals(expected, actual);
+            }
+        }
+        assertEquals(batch.length, cache.size());
+        assertEquals(batch.length, cache.getMisses());
+        assertEquals(batch.length * 4, cache.getHits());
+    }
+
+    @Test
+    public void testInconsistentPuzzleBypassesCache() {
+        SolutionCache cache = new SolutionCache(100, 1 << 20);
+        CachingSudokuSolver solver = new CachingSudokuSolver(new SudokuPuzzleSolver(), cache);
+
+        assertFalse(solver.solve(TestPuzzles.puzzleInconsistent).isSolved);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testStoppedSolveBypassesCache() {
+        SolutionCache cache = new SolutionCache(100, 1 << 20);
+        SudokuPuzzleSolver engine = new SudokuPuzzleSolver();
+        engine.setDefaultBudget(SolveBudget.ofRounds(0));
+        CachingSudokuSolver solver = new CachingSudokuSolver(engine, cache);
+
+        assertTrue(solver.solve(TestPuzzles.puzzleHard).budgetExceeded);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEviction() {
+        SolutionCache cache = new SolutionCache(3, 1 << 20);
+
+        for (int i = 0; i < 4; i++) {
+            cache.put(new byte[] {(byte) i}, new byte[10]);
+
+            if (i == 2) {
+                assertNotNull(cache.get(new byte[] {0})); // 1 is now the least recently used
+            }
+        }
+        assertEquals(3, cache.size());
+        assertNull(cache.get(new byte[] {1}));
+        assertNotNull(cache.get(new byte[] {0}));
+
+        // Bounded by bytes: room for two entries
+        cache = new SolutionCache(100, 2 * (SolutionCache.ENTRY_OVERHEAD + 11));
+
+        for (int i = 0; i < 3; i++) {
+            cache.put(new byte[] {(byte) i}, new byte[10]);
+        }
+        assertEquals(2, cache.size());
+        assertEquals(2 * (SolutionCache.ENTRY_OVERHEAD + 11), cache.getBytes());
+        assertNull(cache.get(new byte[] {0}));
+    }
+}
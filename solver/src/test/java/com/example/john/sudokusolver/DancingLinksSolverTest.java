@@ -0,0 +1,96 @@
+package com.example.john.sudokusolver;
+
+import com.example.john.sudokusolver.SudokuPuzzleSolver.SudokuPuzzleSolution;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.example.john.sudokusolver.PuzzleSolveUnitTest.assertValidSolution;
+import static org.junit.Assert.*;
+
+/**
+ * Checks the Dancing Links engine and the routing between engines
+ */
+public class DancingLinksSolverTest {
+    /**
+     * A 17 clue puzzle
+     */
+    final int[][] puzzleMinimal = {
+            {0, 0, 0, 0, 0, 0, 0, 1, 0},
+            {4, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 2, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 5, 0, 4, 0, 7},
+            {0, 0, 8, 0, 0, 0, 3, 0, 0},
+            {0, 0, 1, 0, 9, 0, 0, 0, 0},
+            {3, 0, 0, 4, 0, 0, 2, 0, 0},
+            {0, 5, 0, 1, 0, 0, 0, 0, 0},
+            {0, 0, 0, 8, 0, 6, 0, 0, 0}
+    };
+
+    private DancingLinksSolver mDancingLinksSolver;
+
+    @Before
+    public void beginDancingLinksSolver() {
+        mDancingLinksSolver = new DancingLinksSolver();
+    }
+
+    @Test
+    public void testSolver() {
+        for (int[][] puzzle : new int[][][] { TestPuzzles.puzzle1, TestPuzzles.puzzle2, TestPuzzles.puzzle3,
+                TestPuzzles.puzzleHard, puzzleMinimal, TestPuzzles.empty9x9Grid }) {
+            SudokuPuzzleSolution solution = mDancingLinksSolver.solve(puzzle);
+
+            assertTrue(solution.isSolved);
+            assertValidSolution(puzzle, solution.getPartialSolutionSolvedDigits());
+        }
+    }
+
+    @Test
+    public void testReuseAfterInconsistentPuzzle() {
+        SudokuPuzzleSolution solution = mDancingLinksSolver.solve(TestPuzzles.puzzleInconsistent);
+        assertFalse(solution.isSolved);
+        assertEquals(5, solution.getPartialSolutionSolvedDigits()[0][0]);
+
+        solution = mDancingLinksSolver.solve(puzzleMinimal);
+        assertTrue(solution.isSolved);
+        assertValidSolution(puzzleMinimal, solution.getPartialSolutionSolvedDigits());
+    }
+
+    @Test
+    public void testAgreesWithPartitionEngine() {
+        SudokuPuzzleSolver partitionSolver = new SudokuPuzzleSolver();
+        partitionSolver.setGuaranteedCompletion(true);
+
+        for (int[][] puzzle : new int[][][] { TestPuzzles.puzzle1, TestPuzzles.puzzleHard, puzzleMinimal }) {
+            assertArrayEquals(partitionSolver.solve(puzzle).getPartialSolutionSolvedDigits(),
+                    mDancingLinksSolver.solve(puzzle).getPartialSolutionSolvedDigits());
+        }
+    }
+
+    @Test
+    public void testRouter() {
+        SudokuPuzzleSolver partitionSolver = new SudokuPuzzleSolver();
+        SudokuEngineRouter router = new SudokuEngineRouter(partitionSolver, mDancingLinksSolver);
+
+        assertSame(partitionSolver, router.getEngine(17));
+
+        // Without guaranteed completion, only the Dancing Links engine solves the hard puzzles
+        router.calibrate(Arrays.asList(puzzleMinimal, TestPuzzles.puzzleHard), 2);
+
+        assertSame(mDancingLinksSolver, router.getEngine(17));
+        assertSame(mDancingLinksSolver, router.getEngine(SudokuEngineRouter.countClues(TestPuzzles.puzzleHard)));
+        assertSame(partitionSolver, router.getEngine(30));
+        assertTrue(router.solve(puzzleMinimal).isSolved);
+
+        // A single round would be the warm-up alone
+        try {
+            router.calibrate(Collections.singletonList(puzzleMinimal), 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+}
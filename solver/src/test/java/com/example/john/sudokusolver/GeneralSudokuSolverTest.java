@@ -0,0 +1,141 @@
+package com.example.john.sudokusolver;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.STATUS_REQUIRED_SEARCH;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.STATUS_SOLVED;
+import static org.junit.Assert.*;
+
+/**
+ * Checks the solver of puzzles of any box size
+ */
+public class GeneralSudokuSolverTest {
+    @Test
+    public void testGeometry() {
+        SudokuGeometry geometry = new SudokuGeometry(2, 3);
+
+        assertEquals(6, geometry.size);
+        assertEquals(0b111111L, geometry.allDigits());
+        assertEquals(-1L, new SudokuGeometry(8, 8).allDigits());
+
+        // The boxes are 2 rows by 3 columns; box 1 is to the right of box 0
+        assertEquals(3, geometry.getCell(1, 0));
+        assertEquals(6 + 5, geometry.getCell(1, 5));
+        assertEquals(2 * 6, geometry.getCell(2, 0));
+
+        for (int unit = 0; unit < SudokuGeometry.CLASSIC.unitCount; unit++) {
+            for (int element = 0; element < SudokuPuzzleSolver.MAX_LENGTH; element++) {
+                assertEquals(SudokuPuzzleSolver.UNIT_CELLS[unit * SudokuPuzzleSolver.MAX_LENGTH + element],
+                        SudokuGeometry.CLASSIC.getCell(unit, element));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGeometryTooLarge() {
+        new SudokuGeometry(5, 13);
+    }
+
+    @Test
+    public void testClassic() {
+        GeneralSudokuSolver solver = new GeneralSudokuSolver(SudokuGeometry.CLASSIC);
+        int[][] solution = new int[SudokuPuzzleSolver.MAX_LENGTH][SudokuPuzzleSolver.MAX_LENGTH];
+
+        assertEquals(STATUS_SOLVED, solver.solve(TestPuzzles.puzzle1, solution));
+        assertArrayEquals(new SudokuPuzzleSolver().solve(TestPuzzles.puzzle1).getPartialSolutionSolvedDigits(),
+                solution);
+
+        assertEquals(0, solver.solve(TestPuzzles.puzzleInconsistent, solution) & STATUS_SOLVED);
+
+        solver.setGuaranteedCompletion(true);
+
+        for (int[][] puzzle : new int[][][] { TestPuzzles.puzzleHard, TestPuzzles.empty9x9Grid }) {
+            assertEquals(STATUS_SOLVED | STATUS_REQUIRED_SEARCH, solver.solve(puzzle, solution));
+            PuzzleSolveUnitTest.assertValidSolution(puzzle, solution);
+        }
+        assertEquals(0, solver.solve(TestPuzzles.puzzleInconsistent, solution) & STATUS_SOLVED);
+    }
+
+    @Test
+    public void testOtherBoxSizes() {
+        for (int[] box : new int[][] { {2, 2}, {2, 3}, {3, 4}, {4, 4}, {5, 5} }) {
+            SudokuGeometry geometry = new SudokuGeometry(box[0], box[1]);
+            GeneralSudokuSolver solver = new GeneralSudokuSolver(geometry);
+            solver.setGuaranteedCompletion(true);
+
+            int[] puzzle = makePuzzle(geometry, new Random(geometry.size), 0.5);
+            long[] partialSolution = new long[geometry.cellCount];
+
+            // Twice, as the instance is reused
+            for (int k = 0; k < 2; k++) {
+                assertEquals(STATUS_SOLVED, solver.solve(puzzle, partialSolution) & STATUS_SOLVED);
+                assertValidSolution(geometry, puzzle, partialSolution);
+            }
+        }
+    }
+
+    @Test
+    public void testDeductionsOnly() {
+        SudokuGeometry geometry = new SudokuGeometry(4, 4);
+        GeneralSudokuSolver solver = new GeneralSudokuSolver(geometry);
+        int[] puzzle = makePuzzle(geometry, new Random(1), 0.3);
+        long[] partialSolution = new long[geometry.cellCount];
+
+        // Few enough cells are empty for the deductions alone
+        assertEquals(STATUS_SOLVED, solver.solve(puzzle, partialSolution));
+        assertValidSolution(geometry, puzzle, partialSolution);
+    }
+
+    /**
+     * @return A puzzle made from a completed grid with its digits relabeled, and a fraction of its
+     * cells emptied
+     */
+    static int[] makePuzzle(SudokuGeometry geometry, Random random, double emptyFraction) {
+        int size = geometry.size;
+        int[] labels = new int[size];
+
+        for (int digit = 0; digit < size; digit++) {
+            labels[digit] = digit + 1;
+        }
+
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int label = labels[i];
+            labels[i] = labels[j];
+            labels[j] = label;
+        }
+
+        int[] puzzle = new int[geometry.cellCount];
+
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                int digit = (geometry.boxColumns * (row % geometry.boxRows) + row / geometry.boxRows
+                        + column) % size;
+                puzzle[row * size + column] = random.nextDouble() < emptyFraction ? 0 : labels[digit];
+            }
+        }
+        return puzzle;
+    }
+
+    static void assertValidSolution(SudokuGeometry geometry, int[] puzzle, long[] partialSolution) {
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            int digit = GeneralSudokuSolver.certainDigit(partialSolution[cell]);
+            assertTrue(digit > 0);
+
+            if (puzzle[cell] != 0) {
+                assertEquals(puzzle[cell], digit);
+            }
+        }
+
+        for (int unit = 0; unit < geometry.unitCount; unit++) {
+            long union = 0;
+
+            for (int element = 0; element < geometry.size; element++) {
+                union |= partialSolution[geometry.getCell(unit, element)];
+            }
+            assertEquals(geometry.allDigits(), union);
+        }
+    }
+}
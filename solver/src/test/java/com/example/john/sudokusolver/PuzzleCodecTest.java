@@ -0,0 +1,98 @@
+package com.example.john.sudokusolver;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that puzzles and candidate grids survive a round trip through their packed bytes
+ */
+public class PuzzleCodecTest {
+    @Test
+    public void testSizes() {
+        assertEquals(41, PuzzleCodec.GIVENS_BYTES);
+        assertEquals(92, PuzzleCodec.CANDIDATES_BYTES);
+        assertEquals(PuzzleCodec.GIVENS_BYTES, PuzzleCodec.encodeGivens(TestPuzzles.puzzle1).length);
+    }
+
+    @Test
+    public void testGivens() {
+        assertArrayEquals(TestPuzzles.puzzleHard,
+                PuzzleCodec.decodeGivens(PuzzleCodec.encodeGivens(TestPuzzles.puzzleHard)));
+
+        // The packed bytes are the same from either layout of the puzzle
+        int[] flat = TestPuzzles.toCells(TestPuzzles.puzzle2);
+        ByteBuffer buffer = ByteBuffer.allocate(PuzzleCodec.GIVENS_BYTES);
+        PuzzleCodec.encodeGivens(flat, buffer);
+        assertArrayEquals(PuzzleCodec.encodeGivens(TestPuzzles.puzzle2), buffer.array());
+
+        buffer.flip();
+        int[] decoded = new int[CELL_COUNT];
+        PuzzleCodec.decodeGivens(buffer, decoded);
+        assertArrayEquals(flat, decoded);
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testBulk() {
+        SudokuPuzzleSolver solver = new SudokuPuzzleSolver();
+        int[][][] batch = { TestPuzzles.puzzle1, TestPuzzles.puzzleHard, TestPuzzles.puzzleInconsistent,
+                TestPuzzles.empty9x9Grid };
+        int[] givens = new int[batch.length * CELL_COUNT];
+        int[] candidates = new int[batch.length * CELL_COUNT];
+        int[] partialSolution = new int[CELL_COUNT];
+
+        for (int p = 0; p < batch.length; p++) {
+            int[] puzzle = TestPuzzles.toCells(batch[p]);
+            solver.solve(puzzle, partialSolution);
+            System.arraycopy(puzzle, 0, givens, p * CELL_COUNT, CELL_COUNT);
+            System.arraycopy(partialSolution, 0, candidates, p * CELL_COUNT, CELL_COUNT);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(
+                batch.length * (PuzzleCodec.GIVENS_BYTES + PuzzleCodec.CANDIDATES_BYTES));
+        PuzzleCodec.encodeGivens(givens, batch.length, buffer);
+        PuzzleCodec.encodeCandidates(candidates, batch.length, buffer);
+        assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        int[] decodedGivens = new int[givens.length];
+        int[] decodedCandidates = new int[candidates.length];
+        PuzzleCodec.decodeGivens(buffer, decodedGivens, batch.length);
+        PuzzleCodec.decodeCandidates(buffer, decodedCandidates, batch.length);
+
+        assertArrayEquals(givens, decodedGivens);
+        assertArrayEquals(candidates, decodedCandidates);
+    }
+
+    @Test
+    public void testCandidates() {
+        Random random = new Random(9);
+        int[] partialSolution = new int[CELL_COUNT];
+
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            partialSolution[cell] = random.nextInt(1 << 9);
+        }
+        partialSolution[0] = (1 << 9) - 1;
+        partialSolution[CELL_COUNT - 1] = (1 << 9) - 1;
+
+        ByteBuffer buffer = ByteBuffer.allocate(PuzzleCodec.CANDIDATES_BYTES);
+        PuzzleCodec.encodeCandidates(partialSolution, buffer);
+        buffer.flip();
+
+        int[] decoded = new int[CELL_COUNT];
+        PuzzleCodec.decodeCandidates(buffer, decoded);
+        assertArrayEquals(partialSolution, decoded);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotADigit() {
+        int[] puzzle = new int[CELL_COUNT];
+        puzzle[40] = 10;
+        PuzzleCodec.encodeGivens(puzzle, ByteBuffer.allocate(PuzzleCodec.GIVENS_BYTES));
+    }
+}
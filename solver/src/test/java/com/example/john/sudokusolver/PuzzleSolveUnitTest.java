@@ -0,0 +1,445 @@
+package com.example.john.sudokusolver;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.*;
+import static com.example.john.sudokusolver.TestPuzzles.*;
+
+/**
+ * Created by john on 5/3/18.
+ * Checks iterators and solvers for the Sudoku Puzzle Solber
+ */
+
+public class PuzzleSolveUnitTest {
+    private SudokuPuzzleSolver mSudokuPuzzleSolver;
+    private int[][] mPuzzle;
+
+    @Before
+    public void beginPuzzleSolver() {
+        mSudokuPuzzleSolver = new SudokuPuzzleSolver();
+        mPuzzle = puzzle1;
+    }
+
+    @Test
+    public void showValues() {
+        System.out.println(Arrays.toString(VALUE));
+    }
+
+    @Test
+    public void testSolvingTools() {
+        mSudokuPuzzleSolver.initializePuzzle(mPuzzle);
+
+
+        System.out.println(Arrays.toString(VALUE));
+
+        System.out.println();
+        mSudokuPuzzleSolver.printPartialSolution();
+
+        // Tests iterators based on the already printed data
+        System.out.println();
+        testIterator();
+
+        System.out.println();
+        testPartitionIterator();
+    }
+
+    @Test
+    public void testInitialSteps() {
+        mSudokuPuzzleSolver.initializePuzzle(mPuzzle);
+        mSudokuPuzzleSolver.makeInitialDeductions();
+
+        System.out.println();
+        mSudokuPuzzleSolver.printPartialSolution();
+    }
+
+    @Test
+    public void testSolver() throws Exception {
+        mSudokuPuzzleSolver.initializePuzzle(mPuzzle);
+        mSudokuPuzzleSolver.makeInitialDeductions();
+
+        System.out.println();
+        mSudokuPuzzleSolver.printPartialSolution();
+        System.out.println();
+
+        System.out.println("Solving puzzle...");
+        mSudokuPuzzleSolver.makeGeneralDeductions();
+        System.out.println("All Done!");
+        System.out.println();
+
+        mSudokuPuzzleSolver.printPartialSolution();
+
+        System.out.println();
+        mSudokuPuzzleSolver.printPartialSolution("0", " ");
+    }
+
+    @Test
+    public void testSolverOpaque() throws Exception {
+        assertTrue(mSudokuPuzzleSolver.solve(mPuzzle).isSolved);
+    }
+
+    @Test
+    public void testCandidateMask() {
+        for (int digit = 1; digit <= MAX_LENGTH; digit++) {
+            assertEquals(VALUE[digit], CandidateMask.of(digit));
+            assertEquals(digit, CandidateMask.certainDigit(VALUE[digit]));
+            assertEquals(digit, getCertainDigit(VALUE[digit]));
+            assertEquals(digit, (int) getDigit(VALUE[digit]));
+        }
+        assertEquals(0, CandidateMask.certainDigit(0));
+        assertEquals(0, CandidateMask.certainDigit(VALUE[2] | VALUE[7]));
+        assertEquals(2, CandidateMask.lowestDigit(VALUE[2] | VALUE[7]));
+        assertEquals(MAX_LENGTH, CandidateMask.size(ALL_DIGITS));
+
+        SudokuPuzzleSolution solution = mSudokuPuzzleSolver.solve(mPuzzle);
+        assertEquals(VALUE[4], solution.getCandidates(1, 0));
+        assertEquals(4, solution.getCertainDigit(1, 0));
+    }
+
+    @Test
+    public void testGuaranteedCompletion() {
+        mSudokuPuzzleSolver.setGuaranteedCompletion(true);
+
+        SudokuPuzzleSolution solution = mSudokuPuzzleSolver.solve(puzzle1);
+        assertTrue(solution.isSolved);
+        assertFalse(solution.requiredSearch);
+        assertValidSolution(puzzle1, solution.getPartialSolutionSolvedDigits());
+
+        for (int[][] puzzle : new int[][][] { puzzleHard, empty9x9Grid }) {
+            solution = mSudokuPuzzleSolver.solve(puzzle);
+            assertTrue(solution.isSolved);
+            assertTrue(solution.requiredSearch);
+            assertValidSolution(puzzle, solution.getPartialSolutionSolvedDigits());
+        }
+
+        assertFalse(mSudokuPuzzleSolver.solve(puzzleInconsistent).isSolved);
+    }
+
+    @Test
+    public void testReuseWithOutputBuffer() {
+        mSudokuPuzzleSolver.setGuaranteedCompletion(true);
+        SudokuPuzzleSolver reference = new SudokuPuzzleSolver();
+        reference.setGuaranteedCompletion(true);
+
+        int[] partialSolution = new int[CELL_COUNT];
+        int[] expected = new int[CELL_COUNT];
+
+        for (int[][] grid : new int[][][] { puzzle1, puzzleHard, puzzleInconsistent, puzzle2,
+                empty9x9Grid, puzzle3 }) {
+            int[] puzzle = toCells(grid);
+            int status = mSudokuPuzzleSolver.solve(puzzle, partialSolution);
+            SudokuPuzzleSolution solution = reference.solve(grid);
+            solution.copyCandidates(expected);
+
+            assertEquals(solution.isSolved, (status & STATUS_SOLVED) != 0);
+            assertEquals(solution.requiredSearch, (status & STATUS_REQUIRED_SEARCH) != 0);
+            assertArrayEquals(expected, partialSolution);
+        }
+    }
+
+    @Test
+    public void testStats() {
+        assertNull(mSudokuPuzzleSolver.solve(puzzle1).getStats());
+
+        mSudokuPuzzleSolver.setCollectStats(true);
+        mSudokuPuzzleSolver.setGuaranteedCompletion(true);
+        SolverStats hard = mSudokuPuzzleSolver.solve(puzzleHard).getStats();
+        SolverStats easy = mSudokuPuzzleSolver.solve(puzzle1).getStats();
+
+        assertTrue(easy.unitVisits >= UNIT_COUNT);
+        assertTrue(easy.shrinkSuccesses > 0);
+        assertEquals(0, easy.searchBranches);
+        assertEquals(0, easy.completionNanos);
+
+        // The copy on the solution is not overwritten by the next solve
+        assertTrue(hard.searchBranches > 0);
+        assertTrue(hard.searchNodes > easy.searchNodes);
+        assertTrue(hard.completionNanos > 0);
+        assertEquals(easy.unitVisits, mSudokuPuzzleSolver.getStats().unitVisits);
+
+        mSudokuPuzzleSolver.setCollectStats(false);
+        assertNull(mSudokuPuzzleSolver.getStats());
+    }
+
+    @Test
+    public void testCountSolutions() {
+        assertEquals(1, mSudokuPuzzleSolver.countSolutions(puzzle1, 2));
+        assertEquals(1, mSudokuPuzzleSolver.countSolutions(puzzleHard, 2));
+        assertEquals(0, mSudokuPuzzleSolver.countSolutions(puzzleInconsistent, 2));
+        assertEquals(10, mSudokuPuzzleSolver.countSolutions(empty9x9Grid, 10));
+
+        // The completed grid of puzzle1, less the corners of a rectangle of 7s and 3s over two
+        // boxes, which may be swapped
+        mSudokuPuzzleSolver.setGuaranteedCompletion(true);
+        int[][] grid = mSudokuPuzzleSolver.solve(puzzle1).getPartialSolutionSolvedDigits();
+        assertEquals(7, grid[0][0]);
+        assertEquals(3, grid[2][0]);
+        grid[0][0] = grid[0][4] = grid[2][0] = grid[2][4] = 0;
+        assertEquals(2, mSudokuPuzzleSolver.countSolutions(grid, 5));
+        assertEquals(1, mSudokuPuzzleSolver.countSolutions(grid, 1));
+
+        // The first solution is that of guaranteed completion
+        int[] puzzle = toCells(puzzleHard);
+        int[] expected = new int[CELL_COUNT];
+        int[] solution = new int[CELL_COUNT];
+
+        mSudokuPuzzleSolver.solve(puzzle, expected);
+        assertEquals(1, mSudokuPuzzleSolver.countSolutions(puzzle, 2, solution));
+        assertArrayEquals(expected, solution);
+    }
+
+    @Test
+    public void testDifficulty() {
+        mSudokuPuzzleSolver.setGuaranteedCompletion(true);
+
+        // Singles alone solve puzzle2
+        DifficultyRating easy = mSudokuPuzzleSolver.solve(puzzle2).getDifficulty();
+        assertEquals(DifficultyRating.LEVEL_EASY, easy.getLevel());
+        assertFalse(easy.deductionsStalled);
+        assertEquals(0, easy.searchDepth);
+
+        // The deductions stall on puzzleHard
+        SudokuPuzzleSolution solution = mSudokuPuzzleSolver.solve(puzzleHard);
+        DifficultyRating hard = solution.getDifficulty();
+        assertEquals(DifficultyRating.LEVEL_EXPERT, hard.getLevel());
+        assertTrue(hard.deductionsStalled);
+        assertTrue(hard.searchDepth > 0);
+        assertTrue(hard.getScore() > easy.getScore());
+        assertTrue(mSudokuPuzzleSolver.solve(puzzle1).getDifficulty().getScore() < hard.getScore());
+
+        // The same rating without the solution object
+        mSudokuPuzzleSolver.solve(toCells(puzzleHard), new int[CELL_COUNT]);
+        assertEquals(hard.toString(), mSudokuPuzzleSolver.getDifficulty().toString());
+    }
+
+    @Test
+    public void testSolveEdit() {
+        SudokuPuzzleSolver reference = new SudokuPuzzleSolver();
+        int[] expected = new int[CELL_COUNT];
+        int[] actual = new int[CELL_COUNT];
+
+        for (boolean guaranteedCompletion : new boolean[] {false, true}) {
+            mSudokuPuzzleSolver.setGuaranteedCompletion(guaranteedCompletion);
+            reference.setGuaranteedCompletion(guaranteedCompletion);
+
+            for (int[][] grid : new int[][][] {puzzle1, puzzleHard}) {
+                int[] puzzle = new int[CELL_COUNT];
+                mSudokuPuzzleSolver.solve(puzzle, actual);
+
+                // The givens put in one at a time, as a solve of each puzzle on the way would
+                for (int cell = 0; cell < CELL_COUNT; cell++) {
+                    int digit = grid[cell / MAX_LENGTH][cell % MAX_LENGTH];
+
+                    if (digit != 0) {
+                        puzzle[cell] = digit;
+                        assertEquals(reference.solve(puzzle, expected),
+                                mSudokuPuzzleSolver.solveEdit(cell, digit, actual));
+                        assertArrayEquals(expected, actual);
+                    }
+                }
+
+                // A given taken away, and one changed
+                puzzle[4] = 0;
+                assertEquals(reference.solve(puzzle, expected), mSudokuPuzzleSolver.solveEdit(4, 0, actual));
+                assertArrayEquals(expected, actual);
+                puzzle[5] = 9;
+                assertEquals(reference.solve(puzzle, expected), mSudokuPuzzleSolver.solveEdit(5, 9, actual));
+                assertArrayEquals(expected, actual);
+            }
+        }
+
+        // A digit that is not a candidate
+        mSudokuPuzzleSolver.solve(puzzle2);
+        assertFalse(mSudokuPuzzleSolver.solveEdit(0, 0, 5).isSolved);
+        assertTrue(mSudokuPuzzleSolver.solveEdit(0, 0, 0).isSolved);
+
+        try {
+            mSudokuPuzzleSolver.solveEdit(0, 0, 10);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testBudget() {
+        mSudokuPuzzleSolver.setGuaranteedCompletion(true);
+        int[] solution = mSudokuPuzzleSolver.solve(puzzleHard).getPartialSolutionSolvedDigits()[0];
+
+        SudokuPuzzleSolution unlimited = mSudokuPuzzleSolver.solve(puzzleHard, SolveBudget.UNLIMITED);
+        assertTrue(unlimited.isSolved);
+        assertFalse(unlimited.budgetExceeded);
+
+        // Stopped in the deductions, or in the search, the candidates still hold the solution
+        for (SolveBudget budget : new SolveBudget[] {SolveBudget.ofRounds(1),
+                SolveBudget.ofSearchNodes(0), SolveBudget.ofSearchNodes(2000),
+                SolveBudget.ofNanos(0)}) {
+            SudokuPuzzleSolution partial = mSudokuPuzzleSolver.solve(puzzleHard, budget);
+            assertTrue(partial.budgetExceeded);
+            assertFalse(partial.isSolved);
+
+            for (int column = 0; column < MAX_LENGTH; column++) {
+                assertTrue((partial.getCandidates(0, column) & VALUE[solution[column]]) != 0);
+            }
+        }
+
+        // Stopped two branches into the search, before any dead end. Unwinding is not
+        // backtracking
+        DifficultyRating stopped = mSudokuPuzzleSolver.solve(puzzleHard,
+                SolveBudget.ofSearchNodes(2000)).getDifficulty();
+        assertTrue(stopped.searchDepth > 1);
+        assertEquals(0, stopped.backtracks);
+
+        // Cancelled, by the default budget
+        mSudokuPuzzleSolver.setDefaultBudget(SolveBudget.UNLIMITED.stoppingOnInterrupt());
+        assertTrue(mSudokuPuzzleSolver.solve(puzzleHard).isSolved);
+        Thread.currentThread().interrupt();
+
+        try {
+            assertTrue(mSudokuPuzzleSolver.solve(puzzleHard).budgetExceeded);
+        } finally {
+            assertTrue(Thread.interrupted());
+            mSudokuPuzzleSolver.setDefaultBudget(null);
+        }
+
+        // Within the budget
+        int[] partialSolution = new int[CELL_COUNT];
+        int status = mSudokuPuzzleSolver.solve(toCells(puzzle2),
+                partialSolution, new SolveBudget(1_000_000_000L, 100_000, 100));
+        assertEquals(STATUS_SOLVED, status);
+    }
+
+    @Test
+    public void testDeductionsOnlyByDefault() {
+        SudokuPuzzleSolution solution = mSudokuPuzzleSolver.solve(puzzleHard);
+        assertFalse(solution.isSolved);
+        assertFalse(solution.requiredSearch);
+    }
+
+    static void assertValidSolution(int[][] puzzle, int[][] solution) {
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            for (int j = 0; j < MAX_LENGTH; j++) {
+                if (puzzle[i][j] != 0) {
+                    assertEquals(puzzle[i][j], solution[i][j]);
+                }
+            }
+        }
+
+        for (int unit = 0; unit < UNIT_COUNT; unit++) {
+            int digits = 0;
+
+            for (int element = 0; element < MAX_LENGTH; element++) {
+                int cell = UNIT_CELLS[unit * MAX_LENGTH + element];
+                digits |= VALUE[solution[cell / MAX_LENGTH][cell % MAX_LENGTH]];
+            }
+            assertEquals(ALL_DIGITS, digits);
+        }
+    }
+
+    @Test
+    public void testPartitionIndex() {
+        mSudokuPuzzleSolver.initializePuzzle(mPuzzle);
+        SudokuPuzzleSolver.SudokuIterator it = mSudokuPuzzleSolver.getIterator(ROW);
+
+        it.resetSlice();
+        it.nextSlice();
+
+        // Row 0 is {0, 0, 0, 0, 3, 4, 0, 0, 0}
+        assertTrue(it.resetPartition(ALL_DIGITS));
+        assertEquals(7, it.getPartitionSize());
+        assertTrue(it.resetPartition(VALUE[4]));
+        assertEquals(1, it.getPartitionSize());
+        assertTrue(it.nextPartitionElement());
+        assertEquals(5, it.cell);
+        assertFalse(it.nextPartitionElement());
+        assertFalse(it.resetPartition(VALUE[1]));
+
+        int partitions = 0;
+        it.resetPartition();
+
+        while (it.nextPartition()) {
+            partitions++;
+        }
+        assertEquals(3, partitions);
+    }
+
+    @Test
+    public void testCertainCellsArePropagatedToAllUnits() {
+        mSudokuPuzzleSolver.initializePuzzle(mPuzzle);
+        mSudokuPuzzleSolver.makeInitialDeductions();
+        int[] partiallySolvedPuzzle = mSudokuPuzzleSolver.getPartiallySolvedPuzzle();
+
+        for (int type : new int[] { GRID, ROW, COLUMN }) {
+            SudokuPuzzleSolver.SudokuIterator it = mSudokuPuzzleSolver.getIterator(type);
+            it.resetSlice();
+
+            while (it.nextSlice()) {
+                it.resetPartition();
+
+                while (it.nextPartition()) {
+                    int size = it.getPartitionSize();
+
+                    while (it.nextPartitionElement()) {
+                        if (CandidateMask.isCertain(partiallySolvedPuzzle[it.cell])) {
+                            // A certain cell forms a partition of its own in every unit
+                            assertEquals(1, size);
+                            assertEquals(partiallySolvedPuzzle[it.cell], it.getPartitionValue());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIterator() {
+        SudokuPuzzleSolver.SudokuIterator it = mSudokuPuzzleSolver.getIterator(GRID);
+
+        it.resetSlice();
+
+        while (it.nextSlice()) {
+            it.resetElement();
+            while (it.nextElement()) {
+                System.out.printf("%02d ", it.cell);
+            }
+            System.out.println();
+        }
+    }
+
+    @Test
+    public void testPartitionIterator() {
+        SudokuPuzzleSolver.SudokuIterator it = mSudokuPuzzleSolver.getIterator(GRID);
+
+        float dummy;
+        int i, j, cell;
+
+        it.resetSlice();
+
+        while (it.nextSlice()) {
+            it.resetPartition();
+            cell = it.cell;
+
+            System.out.printf("Next Slice starting on %02d...\n", cell - 8);
+
+            while (it.nextPartition()) {
+
+                System.out.print("Next Partition...\n");
+
+                while (it.nextPartitionElement()) {
+                    cell = it.cell;
+                    i = cell / MAX_LENGTH;
+                    j = cell % MAX_LENGTH;
+                    dummy = mPuzzle[i][j] != 0 ? -mPuzzle[i][j]
+                            : mSudokuPuzzleSolver.getDigit(
+                                    mSudokuPuzzleSolver.getPartiallySolvedPuzzle()[cell]);
+
+                    System.out.printf("%02d  %+.3f\n", cell, dummy);
+                }
+                System.out.println();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.john.sudokusolver;
+
+import com.example.john.sudokusolver.SudokuPuzzleSolver.SudokuPuzzleSolution;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that batches are solved as by a single solver, in order
+ */
+public class SudokuBatchSolverTest {
+    private List<int[][]> makeBatch() {
+        List<int[][]> batch = new ArrayList<>();
+
+        for (int k = 0; k < 20; k++) {
+            batch.add(TestPuzzles.puzzle1);
+            batch.add(TestPuzzles.puzzleHard);
+            batch.add(TestPuzzles.puzzleInconsistent);
+            batch.add(TestPuzzles.puzzle2);
+            batch.add(TestPuzzles.empty9x9Grid);
+        }
+        return batch;
+    }
+
+    private static void assertSameSolutions(List<int[][]> batch, List<SudokuPuzzleSolution> solutions) {
+        SudokuPuzzleSolver solver = new SudokuPuzzleSolver();
+        solver.setGuaranteedCompletion(true);
+
+        assertEquals(batch.size(), solutions.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            SudokuPuzzleSolution expected = solver.solve(batch.get(i));
+
+            assertEquals(expected.isSolved, solutions.get(i).isSolved);
+            assertArrayEquals(expected.getPartialSolutionSolvedDigits(),
+                    solutions.get(i).getPartialSolutionSolvedDigits());
+        }
+    }
+
+    @Test
+    public void testSolveList() {
+        List<int[][]> batch = makeBatch();
+        assertSameSolutions(batch, new SudokuBatchSolver(true).solveAll(batch));
+    }
+
+    @Test
+    public void testSolveStream() {
+        List<int[][]> batch = makeBatch();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            List<SudokuPuzzleSolution> solutions = new SudokuBatchSolver(executor, 3, true)
+                    .solveAll(batch.stream()).collect(Collectors.toList());
+            assertSameSolutions(batch, solutions);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSolveWithListener() {
+        List<int[][]> batch = makeBatch();
+        final AtomicIntegerArray calls = new AtomicIntegerArray(batch.size());
+
+        new SudokuBatchSolver(true).solveAll(batch, new SudokuBatchSolver.ResultListener() {
+            @Override
+            public void onSolved(int index, SudokuPuzzleSolution solution) {
+                calls.incrementAndGet(index);
+            }
+        }).join();
+
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(1, calls.get(i));
+        }
+    }
+}
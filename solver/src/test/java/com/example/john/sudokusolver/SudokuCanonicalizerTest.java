@@ -0,0 +1,188 @@
+package com.example.john.sudokusolver;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.MAX_LENGTH;
+import static com.example.john.sudokusolver.TestPuzzles.toCells;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the canonical form is the same for every transformation of a puzzle, and maps
+ * back to the puzzle
+ */
+public class SudokuCanonicalizerTest {
+    private static final int[][] PERMUTATIONS = {
+            {0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}
+    };
+
+    /**
+     * @return puzzle, maybe transposed, with its bands, rows, stacks, columns and digits permuted
+     * at random
+     */
+    static int[] transform(int[] puzzle, Random random) {
+        int[] rows = new int[MAX_LENGTH];
+        int[] columns = new int[MAX_LENGTH];
+        int[] bands = PERMUTATIONS[random.nextInt(6)];
+        int[] stacks = PERMUTATIONS[random.nextInt(6)];
+
+        for (int band = 0; band < 3; band++) {
+            int[] bandRows = PERMUTATIONS[random.nextInt(6)];
+            int[] stackColumns = PERMUTATIONS[random.nextInt(6)];
+
+            for (int i = 0; i < 3; i++) {
+                rows[band * 3 + i] = bands[band] * 3 + bandRows[i];
+                columns[band * 3 + i] = stacks[band] * 3 + stackColumns[i];
+            }
+        }
+
+        int[] labels = new int[MAX_LENGTH + 1];
+
+        for (int digit = 1; digit <= MAX_LENGTH; digit++) {
+            labels[digit] = digit;
+        }
+
+        for (int i = MAX_LENGTH; i > 1; i--) {
+            int j = 1 + random.nextInt(i);
+            int label = labels[i];
+            labels[i] = labels[j];
+            labels[j] = label;
+        }
+        boolean isTransposed = random.nextBoolean();
+        int[] transformed = new int[CELL_COUNT];
+
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            int row = rows[cell / MAX_LENGTH];
+            int column = columns[cell % MAX_LENGTH];
+            transformed[cell] = labels[puzzle[isTransposed ? column * MAX_LENGTH + row
+                    : row * MAX_LENGTH + column]];
+        }
+        return transformed;
+    }
+
+    @Test
+    public void testInvariance() {
+        SudokuCanonicalizer canonicalizer = new SudokuCanonicalizer();
+        SudokuCanonicalizer.CanonicalForm form = new SudokuCanonicalizer.CanonicalForm();
+        Random random = new Random(3);
+
+        for (int[][] grid : new int[][][] { TestPuzzles.puzzle1, TestPuzzles.puzzle2, TestPuzzles.puzzle3,
+                TestPuzzles.puzzleHard, TestPuzzles.empty9x9Grid }) {
+            int[] puzzle = toCells(grid);
+            assertTrue(canonicalizer.canonicalize(puzzle, form));
+            int[] canonical = form.getPuzzle().clone();
+
+            // The canonical form of the canonical form is itself
+            assertTrue(canonicalizer.canonicalize(canonical, form));
+            assertArrayEquals(canonical, form.getPuzzle());
+
+            for (int k = 0; k < 20; k++) {
+                int[] transformed = transform(puzzle, random);
+                assertTrue(canonicalizer.canonicalize(transformed, form));
+                assertArrayEquals(canonical, form.getPuzzle());
+            }
+        }
+    }
+
+    @Test
+    public void testLeastForm() {
+        SudokuCanonicalizer canonicalizer = new SudokuCanonicalizer();
+        SudokuCanonicalizer.CanonicalForm form = new SudokuCanonicalizer.CanonicalForm();
+
+        // The least form of a completed grid starts 123456789
+        int[] grid = new int[CELL_COUNT];
+        new SudokuPuzzleSolver().solve(toCells(TestPuzzles.puzzle1), grid);
+
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            grid[cell] = CandidateMask.certainDigit(grid[cell]);
+        }
+        assertTrue(canonicalizer.canonicalize(grid, form));
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9},
+                Arrays.copyOf(form.getPuzzle(), MAX_LENGTH));
+
+        // A single digit goes to the last cell
+        int[] puzzle = new int[CELL_COUNT];
+        puzzle[40] = 7;
+        assertTrue(canonicalizer.canonicalize(puzzle, form));
+        int[] expected = new int[CELL_COUNT];
+        expected[CELL_COUNT - 1] = 1;
+        assertArrayEquals(expected, form.getPuzzle());
+    }
+
+    @Test
+    public void testCompletedGrid() {
+        SudokuCanonicalizer canonicalizer = new SudokuCanonicalizer();
+        SudokuCanonicalizer.CanonicalForm form = new SudokuCanonicalizer.CanonicalForm();
+        Random random = new Random(5);
+        int[] grid = new int[CELL_COUNT];
+        new SudokuPuzzleSolver().solve(toCells(TestPuzzles.puzzle2), grid);
+
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            grid[cell] = CandidateMask.certainDigit(grid[cell]);
+        }
+        assertTrue(canonicalizer.canonicalize(grid, form));
+        int[] canonical = form.getPuzzle().clone();
+
+        for (int k = 0; k < 5; k++) {
+            assertTrue(canonicalizer.canonicalize(transform(grid, random), form));
+            assertArrayEquals(canonical, form.getPuzzle());
+        }
+    }
+
+    @Test
+    public void testPacked() {
+        SudokuCanonicalizer canonicalizer = new SudokuCanonicalizer();
+        SudokuCanonicalizer.CanonicalForm form = new SudokuCanonicalizer.CanonicalForm();
+        int[] puzzle = toCells(TestPuzzles.puzzleHard);
+        ByteBuffer packed = ByteBuffer.allocate(2 * PuzzleCodec.GIVENS_BYTES);
+        PuzzleCodec.encodeGivens(puzzle, packed);
+        PuzzleCodec.encodeGivens(transform(puzzle, new Random(9)), packed);
+        packed.flip();
+
+        // The packed canonical forms of a puzzle and its transformation are the same key
+        byte[][] keys = new byte[2][PuzzleCodec.GIVENS_BYTES];
+
+        for (byte[] key : keys) {
+            assertTrue(canonicalizer.canonicalize(packed, form));
+            form.encode(ByteBuffer.wrap(key));
+        }
+        assertEquals(0, packed.remaining());
+        assertArrayEquals(keys[0], keys[1]);
+
+        assertTrue(canonicalizer.canonicalize(puzzle, form));
+        assertArrayEquals(form.getPuzzle(), toCells(PuzzleCodec.decodeGivens(keys[0])));
+    }
+
+    @Test
+    public void testMapping() {
+        SudokuCanonicalizer canonicalizer = new SudokuCanonicalizer();
+        SudokuCanonicalizer.CanonicalForm form = new SudokuCanonicalizer.CanonicalForm();
+        int[] puzzle = transform(toCells(TestPuzzles.puzzle2), new Random(7));
+        assertTrue(canonicalizer.canonicalize(puzzle, form));
+
+        int[] masks = new int[CELL_COUNT];
+        int[] canonicalMasks = new int[CELL_COUNT];
+        int[] mapped = new int[CELL_COUNT];
+
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            masks[cell] = CandidateMask.of(puzzle[cell]);
+        }
+        form.toCanonical(masks, canonicalMasks);
+
+        for (int cell = 0; cell < CELL_COUNT; cell++) {
+            assertEquals(CandidateMask.of(form.getPuzzle()[cell]), canonicalMasks[cell]);
+        }
+        form.toSource(canonicalMasks, mapped);
+        assertArrayEquals(masks, mapped);
+    }
+
+    @Test
+    public void testRepeatedDigit() {
+        assertFalse(new SudokuCanonicalizer().canonicalize(TestPuzzles.puzzleInconsistent,
+                new SudokuCanonicalizer.CanonicalForm()));
+    }
+}
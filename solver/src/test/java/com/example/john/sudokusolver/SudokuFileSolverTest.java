@@ -0,0 +1,112 @@
+package com.example.john.sudokusolver;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that files are solved line by line, as by a single solver, in order
+ */
+public class SudokuFileSolverTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static String toLine(int[][] puzzle, char empty) {
+        StringBuilder line = new StringBuilder(SudokuPuzzleSolver.CELL_COUNT);
+
+        for (int[] row : puzzle) {
+            for (int digit : row) {
+                line.append(digit == 0 ? empty : (char) ('0' + digit));
+            }
+        }
+        return line.toString();
+    }
+
+    @Test
+    public void testSolveFile() throws IOException {
+        int[][][] batch = { TestPuzzles.puzzle1, TestPuzzles.puzzleHard, TestPuzzles.puzzleInconsistent,
+                TestPuzzles.puzzle2, TestPuzzles.empty9x9Grid };
+        SudokuPuzzleSolver solver = new SudokuPuzzleSolver();
+        solver.setGuaranteedCompletion(true);
+
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        int count = 0;
+        int solvedCount = 0;
+
+        // Enough lines for several batches, with both line endings and both empty cells
+        for (int k = 0; k < 800; k++) {
+            for (int[][] puzzle : batch) {
+                input.append(toLine(puzzle, k % 2 == 0 ? '0' : '.')).append(k % 3 == 0 ? "\r\n" : "\n");
+
+                SudokuPuzzleSolver.SudokuPuzzleSolution solution = solver.solve(puzzle);
+                expected.append(toLine(solution.getPartialSolutionSolvedDigits(), '.')).append('\n');
+                count++;
+                solvedCount += solution.isSolved ? 1 : 0;
+            }
+        }
+        // No line ending on the last line
+        input.append(toLine(TestPuzzles.puzzle1, '0'));
+        expected.append(toLine(solver.solve(TestPuzzles.puzzle1).getPartialSolutionSolvedDigits(), '.'))
+                .append('\n');
+        count++;
+        solvedCount++;
+
+        Path in = folder.newFile("puzzles.txt").toPath();
+        Path out = folder.newFile("solutions.txt").toPath();
+        Files.write(in, input.toString().getBytes(StandardCharsets.US_ASCII));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            SudokuFileSolver.Report report = new SudokuFileSolver(executor, 3, true).solve(in, out);
+
+            assertEquals(count, report.puzzleCount);
+            assertEquals(solvedCount, report.solvedCount);
+            assertEquals(expected.toString(), new String(Files.readAllBytes(out), StandardCharsets.US_ASCII));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBlankLines() throws IOException {
+        Path in = folder.newFile("puzzles.txt").toPath();
+        Path out = folder.newFile("solutions.txt").toPath();
+        String line = toLine(TestPuzzles.puzzle1, '0');
+        String solution = toLine(new SudokuPuzzleSolver().solve(TestPuzzles.puzzle1)
+                .getPartialSolutionSolvedDigits(), '.');
+        Files.write(in, ("\n" + line + "\n\n" + line + "\r\n\r\n" + line + "\n\n")
+                .getBytes(StandardCharsets.US_ASCII));
+
+        // Each solution is on the line of its puzzle
+        SudokuFileSolver.Report report = new SudokuFileSolver(true).solve(in, out);
+        assertEquals(3, report.puzzleCount);
+        assertEquals("\n" + solution + "\n\n" + solution + "\n\n" + solution + "\n\n",
+                new String(Files.readAllBytes(out), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testMalformedLine() throws IOException {
+        Path in = folder.newFile("puzzles.txt").toPath();
+        Path out = folder.newFile("solutions.txt").toPath();
+        String line = toLine(TestPuzzles.puzzle1, '0');
+        Files.write(in, (line + "\n" + line.replace('5', 'x') + "\n")
+                .getBytes(StandardCharsets.US_ASCII));
+
+        try {
+            new SudokuFileSolver(true).solve(in, out);
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Not a puzzle"));
+        }
+    }
+}
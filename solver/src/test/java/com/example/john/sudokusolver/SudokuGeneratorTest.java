@@ -0,0 +1,67 @@
+package com.example.john.sudokusolver;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.MAX_LENGTH;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the generated puzzles are unique, minimal and the same for a seed however they
+ * are generated
+ */
+public class SudokuGeneratorTest {
+
+    @Test
+    public void testUniqueAndMinimal() {
+        SudokuPuzzleSolver solver = new SudokuPuzzleSolver();
+        SudokuGenerator generator = new SudokuGenerator(42);
+
+        for (int index = 0; index < 4; index++) {
+            int[][] puzzle = generator.generate(index);
+            assertEquals(1, solver.countSolutions(puzzle, 2));
+
+            // Without any one of its clues, the puzzle has more than one solution
+            for (int row = 0; row < MAX_LENGTH; row++) {
+                for (int column = 0; column < MAX_LENGTH; column++) {
+                    int digit = puzzle[row][column];
+
+                    if (digit != 0) {
+                        puzzle[row][column] = 0;
+                        assertEquals(2, solver.countSolutions(puzzle, 2));
+                        puzzle[row][column] = digit;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDeterministic() {
+        SudokuGenerator generator = new SudokuGenerator(7);
+        List<int[][]> puzzles = generator.generateAll(10, 6);
+        assertEquals(6, puzzles.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            List<int[][]> others = new SudokuGenerator(executor, 7).generateAll(10, 6);
+
+            for (int i = 0; i < puzzles.size(); i++) {
+                assertArrayEquals(puzzles.get(i), others.get(i));
+                assertArrayEquals(puzzles.get(i), generator.generate(10 + i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Another number, or another seed, gives another puzzle
+        assertFalse(Arrays.deepEquals(puzzles.get(0), puzzles.get(1)));
+        assertFalse(Arrays.deepEquals(puzzles.get(0),
+                new SudokuGenerator(8).generate(10)));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.john.sudokusolver;
+
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.CELL_COUNT;
+import static com.example.john.sudokusolver.SudokuPuzzleSolver.MAX_LENGTH;
+
+/**
+ * The puzzles shared by the tests
+ */
+final class TestPuzzles {
+    static final int[][] puzzle1 = {
+            {0, 0, 0, 0, 3, 4, 0, 0, 0},
+            {4, 0, 2, 0, 0, 0, 3, 1, 0},
+            {0, 0, 0, 1, 0, 0, 5, 0, 0},
+            {8, 0, 0, 6, 0, 0, 0, 3, 0},
+            {2, 0, 0, 0, 1, 0, 0, 0, 9},
+            {0, 3, 0, 0, 0, 7, 0, 0, 2},
+            {0, 0, 3, 0, 0, 6, 0, 0, 0},
+            {0, 7, 4, 0, 0, 0, 6, 0, 8},
+            {0, 0, 0, 8, 9, 0, 0, 0, 0}
+    };
+
+    static final int[][] puzzle2 = {
+            {0, 7, 0, 0, 5, 0, 0, 0, 0},
+            {0, 5, 1, 6, 0, 9, 2, 0, 0},
+            {4, 0, 6, 2, 0, 7, 0, 0, 1},
+            {0, 8, 7, 0, 0, 0, 1, 0, 0},
+            {3, 0, 0, 8, 0, 4, 0, 0, 2},
+            {0, 0, 4, 0, 0, 0, 5, 9, 0},
+            {1, 0, 0, 7, 0, 5, 8, 0, 9},
+            {0, 0, 8, 3, 0, 2, 4, 7, 0},
+            {0, 0, 0, 0, 4, 0, 0, 1, 0}
+    };
+
+    static final int[][] puzzle3 = {
+            {9, 0, 2, 0, 0, 0, 0, 0, 8},
+            {0, 0, 0, 0, 8, 5, 0, 0, 9},
+            {4, 0, 0, 2, 0, 0, 0, 0, 0},
+            {0, 5, 0, 0, 0, 6, 3, 0, 0},
+            {0, 1, 0, 0, 3, 0, 0, 2, 0},
+            {0, 0, 6, 4, 0, 0, 0, 9, 0},
+            {0, 0, 0, 0, 0, 2, 0, 0, 3},
+            {5, 0, 0, 8, 1, 0, 0, 0, 0},
+            {6, 0, 0, 0, 0, 0, 7, 0, 2}
+    };
+
+    /**
+     * Stalls the deductions; requires a search to complete
+     */
+    static final int[][] puzzleHard = {
+            {8, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 3, 6, 0, 0, 0, 0, 0},
+            {0, 7, 0, 0, 9, 0, 2, 0, 0},
+            {0, 5, 0, 0, 0, 7, 0, 0, 0},
+            {0, 0, 0, 0, 4, 5, 7, 0, 0},
+            {0, 0, 0, 1, 0, 0, 0, 3, 0},
+            {0, 0, 1, 0, 0, 0, 0, 6, 8},
+            {0, 0, 8, 5, 0, 0, 0, 1, 0},
+            {0, 9, 0, 0, 0, 0, 4, 0, 0}
+    };
+
+    static final int[][] puzzleInconsistent = {
+            {5, 5, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0}
+    };
+
+    static final int[][] empty9x9Grid = {
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0},
+            {0, 0, 0, 0, 0, 0, 0, 0, 0}
+    };
+
+    /**
+     * @return The cells of puzzle, row by row
+     */
+    static int[] toCells(int[][] puzzle) {
+        int[] cells = new int[CELL_COUNT];
+
+        for (int i = 0; i < MAX_LENGTH; i++) {
+            System.arraycopy(puzzle[i], 0, cells, i * MAX_LENGTH, MAX_LENGTH);
+        }
+        return cells;
+    }
+
+    private TestPuzzles() {
+    }
+}